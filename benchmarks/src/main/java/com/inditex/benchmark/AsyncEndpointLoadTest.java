@@ -0,0 +1,54 @@
+package com.inditex.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Prueba de carga HTTP real que compara GET /api/prices (Spring MVC bloqueante) con
+ * GET /api/prices/async (pool priceLookup con cola de admisión acotada) sobre la misma instancia.
+ *
+ * Con más clientes que hilos + cola, la variante asíncrona debe mantener p99 acotado y
+ * responder 503 al exceso, mientras que la bloqueante acumula la espera en la latencia.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.inditex.benchmark.AsyncEndpointLoadTest \
+ *        [repositorio=memory] [concurrencias=50,200,1000] [segundos=20] [filas=100000] [cola=256]
+ */
+public final class AsyncEndpointLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private AsyncEndpointLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String repository = arg(args, 0, "memory");
+        int[] concurrencies = Arrays.stream(arg(args, 1, "50,200,1000").split(",")).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, 2, "20")));
+        int rows = Integer.parseInt(arg(args, 3, "100000"));
+        int queueCapacity = Integer.parseInt(arg(args, 4, "256"));
+
+        try (BenchmarkContext context = BenchmarkContext.start(rows, true, Map.of(
+                "pricing.repository.type", repository,
+                "pricing.async.queue-capacity", queueCapacity,
+                "server.tomcat.max-connections", 20_000,
+                "server.tomcat.accept-count", 1_000))) {
+            int port = ((WebServerApplicationContext) context.context()).getWebServer().getPort();
+            System.out.println(ClosedLoopHttpLoad.HEADER);
+            for (int concurrency : concurrencies) {
+                for (String path : new String[]{"/api/prices", "/api/prices/async"}) {
+                    String mode = path.endsWith("/async") ? "async" : "mvc";
+                    ClosedLoopHttpLoad.run(port, path, context.queries(), concurrency, WARMUP);
+                    System.out.println(ClosedLoopHttpLoad.run(port, path, context.queries(), concurrency, duration)
+                            .row(mode, concurrency));
+                }
+            }
+        }
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
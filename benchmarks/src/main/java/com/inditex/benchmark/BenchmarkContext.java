@@ -0,0 +1,83 @@
+package com.inditex.benchmark;
+
+import com.inditex.App;
+import com.inditex.application.cache.PriceCache;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.infrastructure.repository.memory.InMemoryPriceRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Arranca la aplicación con una base H2 propia, la llena con datos sintéticos y deja
+ * preparadas las consultas que recorrerán los benchmarks.
+ */
+public final class BenchmarkContext implements AutoCloseable {
+
+    private static final int QUERY_COUNT = 1 << 16;
+
+    private final ConfigurableApplicationContext context;
+    private final SyntheticPriceData.Dataset dataset;
+    private final PriceQuery[] queries;
+
+    private BenchmarkContext(ConfigurableApplicationContext context, SyntheticPriceData.Dataset dataset) {
+        this.context = context;
+        this.dataset = dataset;
+        this.queries = SyntheticPriceData.queries(dataset, QUERY_COUNT, 42L);
+    }
+
+    public static BenchmarkContext start(int rows, boolean web, Map<String, Object> properties) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64");
+        settings.put("server.port", 0);
+        settings.put("spring.h2.console.enabled", false);
+        // JMH ya hace sus propias iteraciones de calentamiento
+        settings.put("pricing.warmup.enabled", false);
+        settings.put("logging.level.root", "warn");
+        settings.put("logging.level.com.inditex", "error");
+        settings.putAll(properties);
+
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.yml
+        String[] args = settings.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(App.class)
+                .web(web ? WebApplicationType.SERVLET : WebApplicationType.NONE)
+                .run(args);
+
+        SyntheticPriceData.Dataset dataset = SyntheticPriceData.populate(context.getBean(JdbcTemplate.class), rows, 7L);
+        context.getBeanProvider(InMemoryPriceRepository.class).ifAvailable(InMemoryPriceRepository::load);
+        context.getBeanProvider(PriceCache.class).ifAvailable(PriceCache::invalidateAll);
+
+        return new BenchmarkContext(context, dataset);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public SyntheticPriceData.Dataset dataset() {
+        return dataset;
+    }
+
+    /**
+     * Secuencia precalculada de consultas; su longitud es potencia de dos.
+     */
+    public PriceQuery[] queries() {
+        return queries;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
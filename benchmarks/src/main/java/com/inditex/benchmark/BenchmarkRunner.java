@@ -0,0 +1,48 @@
+package com.inditex.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punto de entrada del jar de benchmarks. Acepta las mismas opciones que JMH.
+ *
+ * Si no se indica modo (-bm), hace dos pasadas: rendimiento en ops/s y latencia muestreada
+ * en µs (p50, p90, p99, p99.9...). Si no se indica perfilador (-prof), añade el de GC para
+ * reportar la tasa de reserva de memoria (gc.alloc.rate.norm, bytes por operación).
+ *
+ * Ejemplos:
+ *   java -jar benchmarks/target/benchmarks.jar
+ *   java -jar benchmarks/target/benchmarks.jar RepositoryBenchmark -p rows=1000000
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (!cli.getBenchModes().isEmpty()) {
+            new Runner(cli).run();
+            return;
+        }
+        run(cli, Mode.Throughput, TimeUnit.SECONDS);
+        run(cli, Mode.SampleTime, TimeUnit.MICROSECONDS);
+    }
+
+    private static void run(CommandLineOptions cli, Mode mode, TimeUnit timeUnit) throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cli)
+                .mode(mode)
+                .timeUnit(timeUnit);
+        if (cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
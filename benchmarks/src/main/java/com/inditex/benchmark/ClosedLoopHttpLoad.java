@@ -0,0 +1,116 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.model.PriceQuery;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga HTTP en bucle cerrado: cada cliente envía la siguiente petición cuando recibe la anterior.
+ * Lo comparten las pruebas de carga que comparan modos de ejecución del endpoint de precios.
+ */
+final class ClosedLoopHttpLoad {
+
+    private static final int MAX_SAMPLES_PER_CLIENT = 1 << 20;
+
+    static final String HEADER = String.format("%-9s %7s %12s %10s %10s %10s %8s %8s",
+            "modo", "clientes", "peticiones/s", "p50 (ms)", "p99 (ms)", "max (ms)", "503", "errores");
+
+    private ClosedLoopHttpLoad() {
+    }
+
+    /**
+     * Lanza concurrency clientes contra http://localhost:port{path}?date=..&productId=..&brandId=..
+     * durante duration. Las respuestas 200 y 404 son válidas; los 503 se cuentan aparte.
+     */
+    static Result run(int port, String path, PriceQuery[] queries, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long[][] samples = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            int clientIndex = c;
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                int next = clientIndex * 7919;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        PriceQuery query = queries[next++ & (queries.length - 1)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path
+                                        + "?date=" + query.date()
+                                        + "&productId=" + query.productId()
+                                        + "&brandId=" + query.brandId()))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 503) {
+                                rejected.incrementAndGet();
+                            } else if (status != 200 && status != 404) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length && count < MAX_SAMPLES_PER_CLIENT) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        if (count < latencies.length) {
+                            latencies[count++] = System.nanoTime() - sent;
+                        }
+                    }
+                } finally {
+                    samples[clientIndex] = latencies;
+                    counts[clientIndex] = count;
+                    done.countDown();
+                }
+            }, "load-" + c);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        int total = Arrays.stream(counts).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(samples[c], 0, merged, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(merged);
+        return new Result(merged, total * 1e9 / elapsed, rejected.get(), errors.get());
+    }
+
+    record Result(long[] sortedLatencies, double throughput, long rejected, long errors) {
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        String row(String mode, int concurrency) {
+            return String.format("%-9s %7d %12.0f %10.2f %10.2f %10.2f %8d %8d", mode, concurrency, throughput,
+                    percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0), rejected, errors);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Petición GET /api/prices completa (binding, caso de uso, serialización JSON y
+ * GlobalExceptionHandler) a través de MockMvc, sin pila de red. responseCache=false obliga a
+ * construir y serializar el DTO en cada petición; format=binary pide el formato de PriceBinaryCodec
+ * en lugar de JSON.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ControllerBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"jpa", "memory"})
+    public String repository;
+
+    @Param({"true", "false"})
+    public boolean responseCache;
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private BenchmarkContext context;
+    private MockMvc mockMvc;
+    private PriceQuery[] queries;
+    private String accept;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, true, Map.of(
+                "pricing.repository.type", repository,
+                "pricing.response-cache.enabled", responseCache));
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context.context()).build();
+        queries = context.queries();
+        accept = "binary".equals(format) ? PriceBinaryCodec.MEDIA_TYPE_VALUE : MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getPrice(QueryCursor cursor) throws Exception {
+        PriceQuery query = cursor.next(queries);
+        return mockMvc.perform(get("/api/prices")
+                        .param("date", query.date().toString())
+                        .param("productId", String.valueOf(query.productId()))
+                        .param("brandId", String.valueOf(query.brandId()))
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+}
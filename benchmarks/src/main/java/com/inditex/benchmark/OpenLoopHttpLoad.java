@@ -0,0 +1,172 @@
+package com.inditex.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga HTTP en bucle abierto: las peticiones salen a ritmo fijo, cada una en su instante
+ * previsto (inicio + i / ritmo), respondan o no las anteriores, como llega el tráfico real.
+ *
+ * Un generador en bucle cerrado deja de enviar mientras el servidor está atascado y las peticiones
+ * que habrían llegado durante el atasco no se miden (omisión coordinada). Aquí la latencia corregida
+ * se cuenta desde el instante previsto, no desde el envío real: si el servidor o el propio generador
+ * se retrasan, el retraso acumulado aparece en los percentiles. También se reporta la latencia sin
+ * corregir (desde el envío real) para ver cuánto cambia.
+ *
+ * Las peticiones en vuelo se limitan a maxInFlight; al llegar al límite el generador espera, y esa
+ * espera también queda en la latencia corregida.
+ */
+final class OpenLoopHttpLoad {
+
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * Resultado de cada petición. Los 404 de GlobalExceptionHandler.handlePriceNotFound (sin
+     * precio aplicable) se separan del resto de 404 por el mensaje de PriceNotFoundException.
+     */
+    enum Outcome {
+        OK("200"),
+        NOT_MODIFIED("304"),
+        PRICE_NOT_FOUND("404 sin precio"),
+        NOT_FOUND("404 otros"),
+        BAD_REQUEST("400"),
+        OVERLOADED("503"),
+        SERVER_ERROR("5xx"),
+        OTHER_STATUS("otros"),
+        TIMEOUT("timeout"),
+        IO_ERROR("error E/S");
+
+        private final String label;
+
+        Outcome(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String PRICE_NOT_FOUND_MESSAGE = "No se encontró precio";
+
+    private OpenLoopHttpLoad() {
+    }
+
+    /**
+     * Envía las rutas de paths en orden (volviendo al principio al terminar) contra baseUri,
+     * a rate peticiones por segundo durante duration.
+     */
+    static Result run(URI baseUri, List<String> paths, double rate, Duration duration, int maxInFlight)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Histogram corrected = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3);
+        Histogram uncorrected = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3);
+        AtomicLongArray outcomes = new AtomicLongArray(Outcome.values().length);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        double intervalNanos = 1e9 / rate;
+        long total = (long) (duration.toNanos() / intervalNanos);
+        long start = System.nanoTime();
+        long maxSendDelay = 0;
+        for (long i = 0; i < total; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+
+            long sent = System.nanoTime();
+            maxSendDelay = Math.max(maxSendDelay, sent - intended);
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(paths.get((int) (i % paths.size()))))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            client.sendAsync(request, OpenLoopHttpLoad::bodyHandler).whenComplete((response, error) -> {
+                long now = System.nanoTime();
+                corrected.recordValue(Math.min(now - intended, HIGHEST_LATENCY_NANOS));
+                uncorrected.recordValue(Math.min(now - sent, HIGHEST_LATENCY_NANOS));
+                outcomes.incrementAndGet(classify(response, error).ordinal());
+                inFlight.release();
+            });
+        }
+        long sendElapsed = System.nanoTime() - start;
+
+        // Espera a las que siguen en vuelo
+        inFlight.acquire(maxInFlight);
+        return new Result(rate, total * 1e9 / sendElapsed, maxSendDelay, corrected, uncorrected, outcomes);
+    }
+
+    /**
+     * Solo se lee el cuerpo de los 404, para distinguir los de PriceNotFoundException.
+     */
+    private static HttpResponse.BodySubscriber<String> bodyHandler(HttpResponse.ResponseInfo info) {
+        return info.statusCode() == 404
+                ? HttpResponse.BodyHandlers.ofString().apply(info)
+                : HttpResponse.BodySubscribers.replacing(null);
+    }
+
+    private static Outcome classify(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            return cause instanceof HttpTimeoutException ? Outcome.TIMEOUT : Outcome.IO_ERROR;
+        }
+        int status = response.statusCode();
+        if (status == 200) {
+            return Outcome.OK;
+        }
+        if (status == 304) {
+            return Outcome.NOT_MODIFIED;
+        }
+        if (status == 404) {
+            return response.body() != null && response.body().contains(PRICE_NOT_FOUND_MESSAGE)
+                    ? Outcome.PRICE_NOT_FOUND
+                    : Outcome.NOT_FOUND;
+        }
+        if (status == 400) {
+            return Outcome.BAD_REQUEST;
+        }
+        if (status == 503) {
+            return Outcome.OVERLOADED;
+        }
+        return status >= 500 ? Outcome.SERVER_ERROR : Outcome.OTHER_STATUS;
+    }
+
+    record Result(double targetRate, double sendRate, long maxSendDelayNanos,
+                  Histogram corrected, Histogram uncorrected, AtomicLongArray outcomes) {
+
+        long count(Outcome outcome) {
+            return outcomes.get(outcome.ordinal());
+        }
+
+        void print(PrintStream out) {
+            out.printf("ritmo objetivo %.0f/s, enviado %.0f/s, retraso máximo de envío %.2f ms%n",
+                    targetRate, sendRate, maxSendDelayNanos / 1e6);
+            out.printf("%-12s %10s %10s%n", "percentil", "corregida", "sin corregir");
+            for (double percentile : new double[]{50, 90, 99, 99.9, 99.99, 100}) {
+                out.printf("%-12s %8.2f ms %8.2f ms%n", percentile == 100 ? "max" : "p" + percentile,
+                        corrected.getValueAtPercentile(percentile) / 1e6,
+                        uncorrected.getValueAtPercentile(percentile) / 1e6);
+            }
+            long total = corrected.getTotalCount();
+            out.printf("%-16s %10s %8s%n", "resultado", "peticiones", "%");
+            for (Outcome outcome : Outcome.values()) {
+                long count = count(outcome);
+                if (count > 0) {
+                    out.printf("%-16s %10d %7.2f%%%n", outcome.label, count, 100.0 * count / total);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.model.PriceQuery;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Posición de cada hilo en la secuencia de consultas, para que los hilos no compartan contador.
+ */
+@State(Scope.Thread)
+public class QueryCursor {
+
+    private int next;
+
+    public PriceQuery next(PriceQuery[] queries) {
+        return queries[next++ & (queries.length - 1)];
+    }
+}
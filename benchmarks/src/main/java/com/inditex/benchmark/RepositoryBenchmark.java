@@ -0,0 +1,62 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+
+/**
+ * Coste de PriceRepository.findApplicablePrice aislado del resto de capas.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RepositoryBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"jpa", "memory"})
+    public String repository;
+
+    private BenchmarkContext context;
+    private PriceRepository priceRepository;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, false, Map.of("pricing.repository.type", repository));
+        priceRepository = context.bean(PriceRepository.class);
+        queries = context.queries();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findApplicablePrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return priceRepository.findApplicablePrice(query.productId(), query.brandId(), query.date());
+    }
+
+    @Benchmark
+    public Object findApplicableCompactPrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        return priceRepository.findApplicableCompactPrice(query.productId(), query.brandId(),
+                PriceTimeline.toEpochSecond(query.date()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.inditex.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Coste de codificar y decodificar una respuesta de GET /api/prices en JSON (Jackson, configurado
+ * como el ObjectMapper de Spring Boot) frente al formato binario de PriceBinaryCodec.
+ *
+ * Los bytes por respuesta de cada formato se imprimen al preparar el benchmark; el coste por
+ * operación lo da JMH y la memoria reservada el perfilador de GC (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class ResponseCodecBenchmark {
+
+    private static final int RESPONSES = 1024;
+
+    private PriceResponseDto[] responses;
+    private byte[][] jsonBodies;
+    private byte[][] binaryBodies;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = mapper.writerFor(PriceResponseDto.class);
+        reader = mapper.readerFor(PriceResponseDto.class);
+
+        responses = new PriceResponseDto[RESPONSES];
+        jsonBodies = new byte[RESPONSES][];
+        binaryBodies = new byte[RESPONSES][];
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        LocalDateTime base = LocalDateTime.parse("2020-06-14T00:00:00");
+        for (int i = 0; i < RESPONSES; i++) {
+            LocalDateTime start = base.plusHours(i);
+            responses[i] = new PriceResponseDto(35455L + i * 7919L, 1L + i % 4, 1L + i % 16,
+                    start, start.plusDays(1 + i % 30), BigDecimal.valueOf(995 + i * 37L, 2), "EUR");
+            jsonBodies[i] = writer.writeValueAsBytes(responses[i]);
+            binaryBodies[i] = PriceBinaryCodec.encode(responses[i]);
+            jsonBytes += jsonBodies[i].length;
+            binaryBytes += binaryBodies[i].length;
+        }
+        System.out.printf("%nBytes por respuesta: json=%.1f, binario=%.1f%n",
+                (double) jsonBytes / RESPONSES, (double) binaryBytes / RESPONSES);
+    }
+
+    @Benchmark
+    public byte[] encodeJson(ResponseCursor cursor) throws IOException {
+        return writer.writeValueAsBytes(responses[cursor.next()]);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(ResponseCursor cursor) {
+        return PriceBinaryCodec.encode(responses[cursor.next()]);
+    }
+
+    @Benchmark
+    public PriceResponseDto decodeJson(ResponseCursor cursor) throws IOException {
+        return reader.readValue(jsonBodies[cursor.next()]);
+    }
+
+    @Benchmark
+    public PriceResponseDto decodeBinary(ResponseCursor cursor) {
+        return PriceBinaryCodec.decode(binaryBodies[cursor.next()]);
+    }
+
+    /**
+     * Posición de cada hilo en las respuestas de ejemplo.
+     */
+    @State(Scope.Thread)
+    public static class ResponseCursor {
+
+        private int next;
+
+        int next() {
+            return next++ & (RESPONSES - 1);
+        }
+    }
+}
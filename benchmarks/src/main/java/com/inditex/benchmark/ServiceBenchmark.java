@@ -0,0 +1,78 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.exception.PriceNotFoundException;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.service.PriceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+
+/**
+ * Coste de PriceService.getApplicablePrice, con y sin la caché de lectura.
+ * Las consultas sin precio (5 %) pagan también el coste de la excepción. Con repository=memory
+ * no se crea caché, así que cache=true y cache=false miden lo mismo.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ServiceBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"jpa", "memory"})
+    public String repository;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private BenchmarkContext context;
+    private PriceService priceService;
+    private PriceQuery[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(rows, false, Map.of(
+                "pricing.repository.type", repository,
+                "pricing.cache.enabled", cache));
+        priceService = context.bean(PriceService.class);
+        queries = context.queries();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object getApplicablePrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        try {
+            return priceService.getApplicablePrice(query.productId(), query.brandId(), query.date());
+        } catch (PriceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object getApplicableCompactPrice(QueryCursor cursor) {
+        PriceQuery query = cursor.next(queries);
+        try {
+            return priceService.getApplicableCompactPrice(query.productId(), query.brandId(),
+                    PriceTimeline.toEpochSecond(query.date()));
+        } catch (PriceNotFoundException e) {
+            return e;
+        }
+    }
+}
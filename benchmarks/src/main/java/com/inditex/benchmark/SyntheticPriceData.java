@@ -0,0 +1,125 @@
+package com.inditex.benchmark;
+
+import com.inditex.domain.model.PriceQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de filas de PRICES a partir del patrón de data.sql.
+ *
+ * Cada producto tiene una tarifa base de prioridad 0 que cubre todo el año y entre 0 y 4
+ * promociones de prioridad 1 (ventanas de horas o de días, como las tarifas 2, 3 y 4 del
+ * ejemplo). Una de cada cuatro promociones lleva anidada una ventana flash de prioridad 2.
+ * Las filas se insertan por lotes, sin materializar el conjunto completo en memoria.
+ */
+public final class SyntheticPriceData {
+
+    public static final int BRANDS = 6;
+    public static final long FIRST_PRODUCT_ID = 100_000L;
+    public static final LocalDateTime YEAR_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    public static final LocalDateTime YEAR_END = LocalDateTime.of(2020, 12, 31, 23, 59, 59);
+
+    private static final long YEAR_SECONDS = Duration.between(YEAR_START, YEAR_END).getSeconds();
+    private static final int BATCH_SIZE = 10_000;
+    private static final String INSERT = "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Resultado de una generación: cuántos productos y filas se han creado.
+     */
+    public record Dataset(int products, int rows) {
+    }
+
+    private SyntheticPriceData() {
+    }
+
+    public static long brandOf(long productId) {
+        return 1 + (productId % BRANDS);
+    }
+
+    /**
+     * Inserta al menos targetRows filas con la semilla indicada.
+     */
+    public static Dataset populate(JdbcTemplate jdbcTemplate, int targetRows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int rows = 0;
+        int products = 0;
+        long priceList = 100;
+
+        while (rows < targetRows) {
+            long productId = FIRST_PRODUCT_ID + products++;
+            long brandId = brandOf(productId);
+            BigDecimal base = BigDecimal.valueOf(random.nextInt(500, 15_000), 2);
+
+            batch.add(row(brandId, YEAR_START, YEAR_END, priceList++, productId, 0, base));
+            rows++;
+
+            int promos = random.nextInt(5);
+            for (int i = 0; i < promos; i++) {
+                long start = random.nextLong(YEAR_SECONDS - 86_400);
+                long length = random.nextBoolean()
+                        ? random.nextLong(3_600, 12 * 3_600)
+                        : random.nextLong(86_400, 15 * 86_400);
+                long end = Math.min(start + length, YEAR_SECONDS);
+                BigDecimal promo = discount(base, random.nextInt(10, 40));
+
+                batch.add(row(brandId, at(start), at(end), priceList++, productId, 1, promo));
+                rows++;
+
+                if (random.nextInt(4) == 0) {
+                    long flashStart = start + random.nextLong(Math.max(1, end - start - 3_600));
+                    batch.add(row(brandId, at(flashStart), at(Math.min(flashStart + 3_600, end)),
+                            priceList++, productId, 2, discount(promo, 20)));
+                    rows++;
+                }
+            }
+
+            if (batch.size() >= BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+        return new Dataset(products, rows);
+    }
+
+    /**
+     * Consultas aleatorias sobre el conjunto generado: fecha uniforme en el año y un 5 %
+     * de productos inexistentes para ejercitar el camino de PriceNotFoundException.
+     */
+    public static PriceQuery[] queries(Dataset dataset, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        PriceQuery[] queries = new PriceQuery[count];
+        for (int i = 0; i < count; i++) {
+            long productId = random.nextInt(100) < 5
+                    ? FIRST_PRODUCT_ID + dataset.products() + random.nextInt(1_000_000)
+                    : FIRST_PRODUCT_ID + random.nextInt(dataset.products());
+            queries[i] = new PriceQuery(productId, brandOf(productId), at(random.nextLong(YEAR_SECONDS)));
+        }
+        return queries;
+    }
+
+    private static Object[] row(long brandId, LocalDateTime start, LocalDateTime end,
+                                long priceList, long productId, int priority, BigDecimal price) {
+        return new Object[]{brandId, Timestamp.valueOf(start), Timestamp.valueOf(end), priceList, productId, priority, price, "EUR"};
+    }
+
+    private static LocalDateTime at(long secondsFromYearStart) {
+        return YEAR_START.plusSeconds(secondsFromYearStart);
+    }
+
+    private static BigDecimal discount(BigDecimal price, int percent) {
+        return price.multiply(BigDecimal.valueOf(100 - percent)).movePointLeft(2).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inditex.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga HTTP real (Tomcat en un puerto local) que compara la ejecución de peticiones
+ * en hilos de plataforma y en hilos virtuales con el repositorio JPA y sin caché, es decir,
+ * con cada petición bloqueada en JDBC. Sin max-age HTTP, para que sea una única consulta por petición.
+ *
+ * Para cada modo y nivel de concurrencia lanza tantos clientes como concurrencia, cada uno
+ * en bucle cerrado contra GET /api/prices (ClosedLoopHttpLoad) y reporta peticiones/s, p50, p99,
+ * máximo y errores.
+ *
+ * El modo virtual solo está disponible si pricing-api se instaló con el perfil java21 y se
+ * ejecuta con Java 21:
+ *   mvn -Pjava21 install -DskipTests
+ *   mvn -f benchmarks/pom.xml package
+ *   java -cp benchmarks/target/benchmarks.jar com.inditex.benchmark.ThreadModeLoadTest \
+ *        [modos=platform,virtual] [concurrencias=50,200,1000] [segundos=20] [filas=100000]
+ */
+public final class ThreadModeLoadTest {
+
+    private static final String VIRTUAL_THREAD_CONFIG = "com.inditex.infrastructure.config.VirtualThreadConfig";
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of(arg(args, 0, "platform,virtual").split(","));
+        int[] concurrencies = Arrays.stream(arg(args, 1, "50,200,1000").split(",")).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, 2, "20")));
+        int rows = Integer.parseInt(arg(args, 3, "100000"));
+
+        System.out.println(ClosedLoopHttpLoad.HEADER);
+        for (String mode : modes) {
+            boolean virtual = "virtual".equals(mode);
+            if (virtual && !ClassUtils.isPresent(VIRTUAL_THREAD_CONFIG, null)) {
+                System.out.println("virtual   omitido: pricing-api no se compiló con el perfil java21");
+                continue;
+            }
+            try (BenchmarkContext context = BenchmarkContext.start(rows, true, Map.of(
+                    "pricing.repository.type", "jpa",
+                    "pricing.cache.enabled", false,
+                    "pricing.http.max-age", "0s",
+                    "pricing.threads.virtual", virtual,
+                    "server.tomcat.max-connections", 20_000,
+                    "server.tomcat.accept-count", 1_000))) {
+                int port = ((WebServerApplicationContext) context.context()).getWebServer().getPort();
+                for (int concurrency : concurrencies) {
+                    ClosedLoopHttpLoad.run(port, "/api/prices", context.queries(), concurrency, WARMUP);
+                    System.out.println(ClosedLoopHttpLoad.run(port, "/api/prices", context.queries(), concurrency, duration)
+                            .row(mode, concurrency));
+                }
+            }
+        }
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
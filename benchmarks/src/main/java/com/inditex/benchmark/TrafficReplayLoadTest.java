@@ -0,0 +1,77 @@
+package com.inditex.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reproduce en bucle abierto un flujo de peticiones GET /api/prices con la forma del tráfico real
+ * contra una instancia local (Tomcat en un puerto local y datos sintéticos) y reporta percentiles
+ * de latencia corregidos por omisión coordinada y el desglose de resultados (OpenLoopHttpLoad).
+ *
+ * El tráfico puede ser:
+ *  - sintetico: secuencia de TrafficStream (Zipf de productos, fechas sesgadas a campañas y
+ *    productos inexistentes) generada al arrancar.
+ *  - un fichero existente: se reproduce tal cual; sirve una grabación anterior o un log de acceso.
+ *  - un fichero que no existe: se genera la secuencia sintética, se graba en él y se reproduce;
+ *    las siguientes ejecuciones reproducen exactamente las mismas peticiones.
+ *
+ * Antes de medir se envía carga al mismo ritmo durante unos segundos sin registrarla.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.inditex.benchmark.TrafficReplayLoadTest \
+ *        [trafico=sintetico] [peticiones/s=2000] [segundos=30] [repositorio=memory] [filas=100000] \
+ *        [zipf=1.1] [campañas=0.3] [inexistentes=0.05]
+ */
+public final class TrafficReplayLoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final int SYNTHETIC_REQUESTS = 200_000;
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    private TrafficReplayLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String traffic = arg(args, 0, "sintetico");
+        double rate = Double.parseDouble(arg(args, 1, "2000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(arg(args, 2, "30")));
+        String repository = arg(args, 3, "memory");
+        int rows = Integer.parseInt(arg(args, 4, "100000"));
+        double zipfExponent = Double.parseDouble(arg(args, 5, "1.1"));
+        double promoShare = Double.parseDouble(arg(args, 6, "0.3"));
+        double notFoundShare = Double.parseDouble(arg(args, 7, "0.05"));
+
+        try (BenchmarkContext context = BenchmarkContext.start(rows, true, Map.of(
+                "pricing.repository.type", repository,
+                "server.tomcat.max-connections", 20_000,
+                "server.tomcat.accept-count", 1_000))) {
+            List<String> paths;
+            Path file = Path.of(traffic);
+            if (!"sintetico".equals(traffic) && Files.exists(file)) {
+                paths = TrafficStream.read(file);
+                System.out.printf("Reproduciendo %d peticiones de %s%n", paths.size(), file);
+            } else {
+                paths = TrafficStream.synthesize(context.dataset(), SYNTHETIC_REQUESTS, zipfExponent,
+                        promoShare, notFoundShare, 42L);
+                if (!"sintetico".equals(traffic)) {
+                    TrafficStream.write(file, paths);
+                    System.out.printf("Secuencia sintética grabada en %s%n", file);
+                }
+            }
+
+            int port = ((WebServerApplicationContext) context.context()).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            OpenLoopHttpLoad.run(baseUri, paths, rate, WARMUP, MAX_IN_FLIGHT);
+            OpenLoopHttpLoad.run(baseUri, paths, rate, duration, MAX_IN_FLIGHT).print(System.out);
+        }
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+}
@@ -0,0 +1,114 @@
+package com.inditex.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Secuencias de peticiones GET /api/prices para reproducir la forma del tráfico real.
+ *
+ * La secuencia sintética combina:
+ *  - Popularidad de productos Zipf: el producto de rango k recibe peticiones en proporción a
+ *    1/k^exponente (con exponente ~1 unos pocos productos concentran buena parte del tráfico).
+ *  - Fechas sesgadas: una parte de las peticiones cae en las ventanas de campaña (PROMO_WINDOWS)
+ *    y el resto se reparte uniformemente en el año de los datos sintéticos.
+ *  - Productos inexistentes: una parte de las peticiones responde 404 por PriceNotFoundException.
+ *
+ * Las secuencias se guardan y se leen como una ruta por línea. Al leer se acepta cualquier línea
+ * que contenga "/api/prices?" (por ejemplo un log de acceso de Tomcat): se toma la ruta hasta el
+ * primer espacio o comilla, así que se puede reproducir tráfico grabado en producción.
+ */
+final class TrafficStream {
+
+    private static final String PATH = "/api/prices?";
+
+    /**
+     * Ventanas de campaña: inicio y duración.
+     */
+    private static final LocalDateTime[] PROMO_WINDOWS = {
+            LocalDateTime.of(2020, 6, 14, 15, 0),
+            LocalDateTime.of(2020, 11, 27, 0, 0),
+            LocalDateTime.of(2020, 12, 26, 0, 0)
+    };
+    private static final Duration PROMO_LENGTH = Duration.ofHours(48);
+    private static final long YEAR_SECONDS = Duration.between(SyntheticPriceData.YEAR_START, SyntheticPriceData.YEAR_END).getSeconds();
+
+    private TrafficStream() {
+    }
+
+    /**
+     * Genera count rutas sobre el conjunto de datos sintético, de forma determinista por semilla.
+     */
+    static List<String> synthesize(SyntheticPriceData.Dataset dataset, int count, double zipfExponent,
+                                   double promoShare, double notFoundShare, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] cumulative = zipfCumulative(dataset.products(), zipfExponent);
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long productId = random.nextDouble() < notFoundShare
+                    ? SyntheticPriceData.FIRST_PRODUCT_ID + dataset.products() + random.nextInt(1_000_000)
+                    : SyntheticPriceData.FIRST_PRODUCT_ID + rank(cumulative, random.nextDouble());
+            LocalDateTime date = random.nextDouble() < promoShare
+                    ? PROMO_WINDOWS[random.nextInt(PROMO_WINDOWS.length)].plusSeconds(random.nextLong(PROMO_LENGTH.getSeconds()))
+                    : SyntheticPriceData.YEAR_START.plusSeconds(random.nextLong(YEAR_SECONDS));
+            paths.add(path(productId, SyntheticPriceData.brandOf(productId), date));
+        }
+        return paths;
+    }
+
+    static String path(long productId, long brandId, LocalDateTime date) {
+        return PATH + "date=" + date + "&productId=" + productId + "&brandId=" + brandId;
+    }
+
+    static void write(Path file, List<String> paths) throws IOException {
+        Files.write(file, paths);
+    }
+
+    /**
+     * Lee las rutas de un fichero grabado o de un log de acceso, ignorando el resto de líneas.
+     */
+    static List<String> read(Path file) throws IOException {
+        List<String> paths = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.forEach(line -> {
+                int start = line.indexOf(PATH);
+                if (start >= 0) {
+                    int end = start;
+                    while (end < line.length() && line.charAt(end) != ' ' && line.charAt(end) != '"') {
+                        end++;
+                    }
+                    paths.add(line.substring(start, end));
+                }
+            });
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("No hay peticiones " + PATH + " en " + file);
+        }
+        return paths;
+    }
+
+    private static double[] zipfCumulative(int products, double exponent) {
+        double[] cumulative = new double[products];
+        double sum = 0;
+        for (int k = 0; k < products; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < products; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int rank(double[] cumulative, double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
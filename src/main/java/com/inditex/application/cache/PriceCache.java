@@ -0,0 +1,33 @@
+package com.inditex.application.cache;
+
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceTimeline;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura delante de PriceRepository.
+ *
+ * Guarda la línea temporal aplanada de cada (brandId, productId), de modo que cualquier fecha
+ * que caiga en un tramo ya cargado se resuelve sin ir a base de datos. Una línea temporal
+ * vacía también se cachea: es el resultado negativo de un producto o marca sin tarifas.
+ */
+public interface PriceCache {
+
+    /**
+     * Devuelve la línea temporal cacheada o la carga con el loader si no está o ha caducado.
+     */
+    PriceTimeline get(PriceKey key, Function<PriceKey, PriceTimeline> loader);
+
+    /**
+     * La línea temporal cacheada, o null si no está. No carga ni cuenta en las estadísticas.
+     */
+    PriceTimeline peek(PriceKey key);
+
+    void invalidate(Collection<PriceKey> keys);
+
+    void invalidateAll();
+
+    PriceCacheStats stats();
+}
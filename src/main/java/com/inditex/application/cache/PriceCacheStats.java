@@ -0,0 +1,9 @@
+package com.inditex.application.cache;
+
+/**
+ * Contadores acumulados de la caché de precios.
+ */
+public record PriceCacheStats(long hits, long misses, long evictions, long size) {
+
+    public static final PriceCacheStats EMPTY = new PriceCacheStats(0, 0, 0, 0);
+}
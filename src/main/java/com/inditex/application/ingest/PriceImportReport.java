@@ -0,0 +1,24 @@
+package com.inditex.application.ingest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva.
+ *
+ * @param read     filas de datos leídas
+ * @param imported filas insertadas
+ * @param rejected filas descartadas por formato o validación
+ * @param errors   primeras filas descartadas, con su línea y motivo
+ * @param elapsed  duración total (lectura, validación y escritura)
+ */
+public record PriceImportReport(long read, long imported, long rejected, List<RejectedRow> errors, Duration elapsed) {
+
+    public record RejectedRow(long line, String reason) {
+    }
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : imported * 1e9 / nanos;
+    }
+}
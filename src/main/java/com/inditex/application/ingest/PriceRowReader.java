@@ -0,0 +1,26 @@
+package com.inditex.application.ingest;
+
+import com.inditex.domain.model.Price;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de un fichero de tarifas para la importación masiva.
+ * El formato concreto (CSV...) lo resuelve la infraestructura.
+ */
+public interface PriceRowReader {
+
+    /**
+     * Lee el fichero fila a fila sin cargarlo entero. Las filas válidas se entregan a rows y las
+     * inválidas a rejected, con su número de línea y el motivo.
+     *
+     * @return número de filas de datos leídas
+     */
+    long read(InputStream input, Consumer<Price> rows, RejectedRowHandler rejected);
+
+    @FunctionalInterface
+    interface RejectedRowHandler {
+        void reject(long line, String reason);
+    }
+}
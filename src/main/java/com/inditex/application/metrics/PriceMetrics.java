@@ -0,0 +1,121 @@
+package com.inditex.application.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas del camino de consulta de precio (GET /api/prices).
+ *
+ * - pricing.lookup.latency{layer=controller|usecase|repository}: latencia por capa, con
+ *   histograma de percentiles (buckets para Prometheus) y percentiles p50/p90/p99/p99.9
+ *   calculados en proceso sobre HdrHistogram.
+ * - pricing.lookup.result{outcome=found|not_found}: consultas resueltas y PriceNotFoundException.
+ *   Con pricing.repository.type=memory es la tasa de aciertos del índice.
+ * - pricing.lookup.coalescing{role=leader|follower}: consultas sin caché agrupadas por producto y
+ *   marca. Las leader cargan la línea temporal y las follower reutilizan una carga en curso; la
+ *   tasa de agrupación es follower / (leader + follower). Las consultas sin concurrencia usan la
+ *   consulta puntual y no cuentan aquí.
+ *
+ * La tasa de aciertos de la caché la publica Caffeine como cache.gets{cache=prices}.
+ *
+ * Los medidores se crean una sola vez: registrar una latencia o un resultado no reserva memoria.
+ * Entre suspend() y resume() no se registra nada: así el tráfico sintético del calentamiento no
+ * se mezcla con el real.
+ */
+@Component
+public class PriceMetrics {
+
+    public enum Layer {
+        CONTROLLER("controller"),
+        USE_CASE("usecase"),
+        REPOSITORY("repository");
+
+        private final String tag;
+
+        Layer(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] timers = new Timer[Layer.values().length];
+    private final Counter found;
+    private final Counter notFound;
+    private final Counter coalescingLeaders;
+    private final Counter coalescingFollowers;
+    private volatile boolean suspended;
+
+    public PriceMetrics(MeterRegistry registry) {
+        for (Layer layer : Layer.values()) {
+            timers[layer.ordinal()] = Timer.builder("pricing.lookup.latency")
+                    .description("Latencia de la consulta de precio aplicable por capa")
+                    .tag("layer", layer.tag)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                    .register(registry);
+        }
+        this.found = Counter.builder("pricing.lookup.result")
+                .description("Consultas de precio aplicable por resultado")
+                .tag("outcome", "found")
+                .register(registry);
+        this.notFound = Counter.builder("pricing.lookup.result")
+                .description("Consultas de precio aplicable por resultado")
+                .tag("outcome", "not_found")
+                .register(registry);
+        this.coalescingLeaders = Counter.builder("pricing.lookup.coalescing")
+                .description("Consultas agrupadas por rol: leader consulta el repositorio, follower reutiliza su resultado")
+                .tag("role", "leader")
+                .register(registry);
+        this.coalescingFollowers = Counter.builder("pricing.lookup.coalescing")
+                .description("Consultas agrupadas por rol: leader consulta el repositorio, follower reutiliza su resultado")
+                .tag("role", "follower")
+                .register(registry);
+    }
+
+    /**
+     * Registra la latencia de una capa desde startNanos (System.nanoTime()) hasta ahora.
+     */
+    public void recordLatency(Layer layer, long startNanos) {
+        if (!suspended) {
+            timers[layer.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void found() {
+        if (!suspended) {
+            found.increment();
+        }
+    }
+
+    public void notFound() {
+        if (!suspended) {
+            notFound.increment();
+        }
+    }
+
+    public void coalescingLeader() {
+        if (!suspended) {
+            coalescingLeaders.increment();
+        }
+    }
+
+    public void coalescingFollower() {
+        if (!suspended) {
+            coalescingFollowers.increment();
+        }
+    }
+
+    /**
+     * Deja de registrar latencias y resultados hasta resume(). Afecta a todos los hilos.
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    public void resume() {
+        suspended = false;
+    }
+}
@@ -1,13 +1,31 @@
 package com.inditex.application.service;
 
+import com.inditex.application.cache.PriceCache;
+import com.inditex.application.metrics.PriceMetrics;
 import com.inditex.domain.exception.PriceNotFoundException;
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
 import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
 import com.inditex.domain.repository.PriceRepository;
+import com.inditex.domain.repository.PriceShardRouter;
 import com.inditex.domain.service.PriceService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementación del caso de uso GetApplicablePriceUseCase.
@@ -16,25 +34,247 @@ import java.time.LocalDateTime;
  *  - Coincidencia de producto y marca
  *  - Fecha dentro del rango de validez
  *  - Mayor prioridad si hay más de uno
+ *
+ * Si hay una PriceCache configurada, las consultas individuales se resuelven contra la línea
+ * temporal cacheada de cada producto y marca; los resultados negativos (sin tramo para la fecha)
+ * también se resuelven desde caché (Caffeine ya ejecuta una sola carga por clave aunque la pidan
+ * varios hilos a la vez). Sin caché se consulta el repositorio directamente.
+ *
+ * Sin caché y con un repositorio que hace E/S (JPA o shard remoto), pricing.coalescing.enabled
+ * agrupa las consultas concurrentes del mismo producto y marca. Una consulta sin otra en curso
+ * del mismo grupo usa la consulta puntual del repositorio (en JPA, el índice con LIMIT 1). Si
+ * llega otra mientras tanto, esa carga la línea temporal del grupo y las que lleguen durante la
+ * carga resuelven su fecha sobre ella, sin volver al repositorio. Las consultas agrupadas se
+ * apuntan en pricing.lookup.coalescing como leader o follower.
+ *
+ * Si hay un PriceShardRouter (pricing.repository.type=sharded), cada consulta se enruta al shard
+ * de su grupo (brandId, productId); los lotes se reparten por shard y se recomponen en el orden
+ * original, y la exportación de una marca se resuelve en los shards que pueden contenerla.
+ *
+ * Las consultas individuales registran en PriceMetrics la latencia del acceso a datos (caché o
+ * repositorio) y si se encontró precio. El detalle de cada consulta solo se escribe en debug.
  */
 @Service
 @Slf4j
 public class PriceServiceImpl implements PriceService {
 
     private final PriceRepository priceRepository;
+    private final PriceShardRouter router;
+    private final PriceCache priceCache;
+    private final Function<PriceKey, PriceTimeline> timelineLoader;
+    private final PriceMetrics metrics;
+    private final SingleFlight<PriceKey, PriceTimeline> inFlight;
 
-    public PriceServiceImpl(PriceRepository priceRepository) {
+    public PriceServiceImpl(PriceRepository priceRepository,
+                            Optional<PriceShardRouter> router,
+                            Optional<PriceCache> priceCache,
+                            PriceMetrics metrics,
+                            @Value("${pricing.coalescing.enabled:true}") boolean coalescing) {
         this.priceRepository = priceRepository;
+        this.router = router.orElse(null);
+        this.priceCache = priceCache.orElse(null);
+        this.metrics = metrics;
+        this.timelineLoader = key -> versionedTimeline(repositoryFor(key.brandId(), key.productId()), key);
+        this.inFlight = coalescing && this.priceCache == null
+                ? new SingleFlight<>(metrics::coalescingLeader, metrics::coalescingFollower)
+                : null;
+    }
+
+    /**
+     * Línea temporal marcada con la versión del repositorio que la resolvió, leída antes y después
+     * como en GetApplicablePriceUseCase.executeVersioned: si se publica otra versión entretanto se
+     * vuelve a leer. Así la versión de una línea temporal cacheada es la de sus datos.
+     */
+    private static PriceTimeline versionedTimeline(PriceRepository repository, PriceKey key) {
+        long version;
+        PriceTimeline timeline;
+        do {
+            version = repository.snapshotVersion();
+            timeline = repository.findTimeline(key.productId(), key.brandId());
+        } while (version != repository.snapshotVersion());
+        return version == 0 ? timeline : timeline.withVersion(version);
+    }
+
+    /**
+     * Sin caché, indica si las consultas al repositorio se agrupan por producto y marca.
+     */
+    private boolean coalesces(PriceRepository repository) {
+        return inFlight != null && !repository.isInMemory();
+    }
+
+    private PriceTimeline coalescedTimeline(long productId, long brandId) {
+        return inFlight.execute(new PriceKey(brandId, productId), timelineLoader);
+    }
+
+    /**
+     * Consulta puntual si nadie más consulta el grupo; si no, resolución sobre la línea temporal compartida.
+     */
+    private <R> R coalesced(long productId, long brandId, Function<PriceTimeline, R> fromTimeline, Supplier<R> pointQuery) {
+        return inFlight.execute(new PriceKey(brandId, productId), timelineLoader, fromTimeline, pointQuery);
+    }
+
+    private PriceRepository repositoryFor(long brandId, long productId) {
+        return router == null ? priceRepository : router.shardFor(brandId, productId);
     }
 
     @Override
     public Price getApplicablePrice(Long productId, Long brandId, LocalDateTime date) {
-        log.info("🔍 Buscando precio para producto={}, marca={}, fecha={}", productId, brandId, date);
+        if (log.isDebugEnabled()) {
+            log.debug("🔍 Buscando precio para producto={}, marca={}, fecha={}", productId, brandId, date);
+        }
+
+        long start = System.nanoTime();
+        PriceRepository repository = repositoryFor(brandId, productId);
+        Optional<Price> price;
+        if (priceCache != null) {
+            price = getTimeline(productId, brandId).find(date);
+        } else if (coalesces(repository)) {
+            price = coalesced(productId, brandId, timeline -> timeline.find(date),
+                    () -> repository.findApplicablePrice(productId, brandId, date));
+        } else {
+            price = repository.findApplicablePrice(productId, brandId, date);
+        }
+        metrics.recordLatency(PriceMetrics.Layer.REPOSITORY, start);
+
+        if (price.isEmpty()) {
+            throw notFound(productId, brandId, date);
+        }
+        metrics.found();
+        return price.get();
+    }
+
+    /**
+     * Camino caliente sin reservas de memoria: claves primitivas y tarifa compacta precalculada.
+     * Solo se construye la excepción (y su fecha) cuando no hay precio. Con caché, la única
+     * reserva es la PriceKey de la búsqueda.
+     */
+    @Override
+    public CompactPrice getApplicableCompactPrice(long productId, long brandId, long epochSecond) {
+        if (log.isDebugEnabled()) {
+            log.debug("Buscando precio compacto para producto={}, marca={}, fecha={}", productId, brandId, epochSecond);
+        }
+
+        long start = System.nanoTime();
+        CompactPrice price;
+        if (priceCache != null) {
+            price = priceCache.get(new PriceKey(brandId, productId), timelineLoader).findCompact(epochSecond);
+        } else {
+            PriceRepository repository = repositoryFor(brandId, productId);
+            price = coalesces(repository)
+                    ? coalesced(productId, brandId, timeline -> timeline.findCompact(epochSecond),
+                            () -> repository.findApplicableCompactPrice(productId, brandId, epochSecond))
+                    : repository.findApplicableCompactPrice(productId, brandId, epochSecond);
+        }
+        metrics.recordLatency(PriceMetrics.Layer.REPOSITORY, start);
+
+        if (price == null) {
+            throw notFound(productId, brandId, PriceTimeline.toDateTime(epochSecond));
+        }
+        metrics.found();
+        return price;
+    }
 
-        return priceRepository.findApplicablePrice(productId, brandId, date)
-                .orElseThrow(() -> {
-                    log.warn("⚠️ No se encontró precio para producto={}, marca={}, fecha={}", productId, brandId, date);
-                    return new PriceNotFoundException(productId, brandId, date);
-                });
+    /**
+     * Con caché, la línea temporal cacheada da la tarifa y el fin de su tramo. Sin caché, el
+     * repositorio los resuelve con su consulta puntual y la línea temporal solo se lee cuando
+     * SingleFlight agrupa peticiones concurrentes del mismo producto.
+     */
+    @Override
+    public CompactPriceSegment getApplicableSegment(long productId, long brandId, long epochSecond) {
+        if (log.isDebugEnabled()) {
+            log.debug("Buscando tramo de precio para producto={}, marca={}, fecha={}", productId, brandId, epochSecond);
+        }
+
+        long start = System.nanoTime();
+        CompactPriceSegment segment;
+        if (priceCache != null) {
+            segment = priceCache.get(new PriceKey(brandId, productId), timelineLoader).findSegment(epochSecond);
+        } else {
+            PriceRepository repository = repositoryFor(brandId, productId);
+            segment = coalesces(repository)
+                    ? coalesced(productId, brandId, timeline -> timeline.findSegment(epochSecond),
+                            () -> repository.findApplicableSegment(productId, brandId, epochSecond))
+                    : repository.findApplicableSegment(productId, brandId, epochSecond);
+        }
+        metrics.recordLatency(PriceMetrics.Layer.REPOSITORY, start);
+
+        if (segment == null) {
+            throw notFound(productId, brandId, PriceTimeline.toDateTime(epochSecond));
+        }
+        metrics.found();
+        return segment;
+    }
+
+    private PriceNotFoundException notFound(Long productId, Long brandId, LocalDateTime date) {
+        metrics.notFound();
+        if (log.isDebugEnabled()) {
+            log.debug("⚠️ No se encontró precio para producto={}, marca={}, fecha={}", productId, brandId, date);
+        }
+        return new PriceNotFoundException(productId, brandId, date);
+    }
+
+    /**
+     * Versión por lotes: delega en la consulta agrupada del repositorio y no lanza
+     * PriceNotFoundException, las consultas sin precio quedan como Optional.empty().
+     */
+    @Override
+    public List<Optional<Price>> getApplicablePrices(List<PriceQuery> queries) {
+        log.debug("Buscando precios en lote: consultas={}", queries.size());
+
+        if (router == null) {
+            return priceRepository.findApplicablePrices(queries);
+        }
+
+        Map<PriceRepository, List<Integer>> positions = new IdentityHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            PriceQuery query = queries.get(i);
+            positions.computeIfAbsent(repositoryFor(query.brandId(), query.productId()), k -> new ArrayList<>()).add(i);
+        }
+
+        List<Optional<Price>> prices = new ArrayList<>(Collections.nCopies(queries.size(), Optional.empty()));
+        positions.forEach((shard, indexes) -> {
+            List<Optional<Price>> found = shard.findApplicablePrices(indexes.stream().map(queries::get).toList());
+            for (int i = 0; i < indexes.size(); i++) {
+                prices.set(indexes.get(i), found.get(i));
+            }
+        });
+        return prices;
+    }
+
+    @Override
+    public PriceTimeline getTimeline(Long productId, Long brandId) {
+        if (priceCache == null) {
+            PriceRepository repository = repositoryFor(brandId, productId);
+            return coalesces(repository)
+                    ? coalescedTimeline(productId, brandId)
+                    : repository.findTimeline(productId, brandId);
+        }
+        return priceCache.get(new PriceKey(brandId, productId), timelineLoader);
+    }
+
+    @Override
+    public void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        log.info("📤 Exportando precios aplicables para marca={}, fecha={}", brandId, date);
+
+        if (router == null) {
+            priceRepository.forEachApplicablePrice(brandId, date, consumer);
+            return;
+        }
+
+        router.forEachApplicablePrice(brandId, date, consumer);
+    }
+
+    /**
+     * Con caché, la versión de la línea temporal cacheada, que es la que resuelve las consultas;
+     * si no está, la del repositorio, de la que se cargará. Se consulta sin cargar ni contar en
+     * las estadísticas de la caché.
+     */
+    @Override
+    public long snapshotVersion(long brandId, long productId) {
+        PriceTimeline cached = priceCache != null ? priceCache.peek(new PriceKey(brandId, productId)) : null;
+        if (cached != null) {
+            return cached.version();
+        }
+        return repositoryFor(brandId, productId).snapshotVersion();
     }
 }
@@ -0,0 +1,88 @@
+package com.inditex.application.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución.
+ *
+ * La primera llamada de una clave (líder) ejecuta la carga; las que llegan mientras sigue en curso
+ * (seguidoras) esperan su resultado o su excepción sin ejecutar nada. Al terminar la carga la clave
+ * se libera, así que una llamada posterior vuelve a cargar: no es una caché.
+ *
+ * Con una alternativa más barata para una sola llamada (execute con alone), la carga compartida
+ * solo se lanza cuando hay concurrencia real: sin nadie más en curso para la clave se ejecuta la
+ * alternativa.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Boolean> alone = new ConcurrentHashMap<>();
+    private final Runnable onLead;
+    private final Runnable onJoin;
+
+    SingleFlight(Runnable onLead, Runnable onJoin) {
+        this.onLead = onLead;
+        this.onJoin = onJoin;
+    }
+
+    /**
+     * Si hay una carga en curso para la clave se une a ella. Si no, ejecuta single, salvo que
+     * otra llamada de la misma clave esté ya en su propio single: entonces hay concurrencia y se
+     * lanza (o se une a) la carga compartida para las que vengan detrás. Las llamadas que
+     * resuelve single no cuentan como líder ni como seguidora.
+     */
+    <R> R execute(K key, Function<K, V> loader, Function<V, R> fromShared, Supplier<R> single) {
+        CompletableFuture<V> running = inFlight.get(key);
+        if (running != null) {
+            onJoin.run();
+            return fromShared.apply(join(running));
+        }
+        if (alone.putIfAbsent(key, Boolean.TRUE) == null) {
+            try {
+                return single.get();
+            } finally {
+                alone.remove(key);
+            }
+        }
+        return fromShared.apply(execute(key, loader));
+    }
+
+    V execute(K key, Function<K, V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            onJoin.run();
+            return join(running);
+        }
+
+        onLead.run();
+        try {
+            V value = loader.apply(key);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inditex.application.usecase;
+
+import java.time.Duration;
+
+/**
+ * Resultado de aplicar un lote del feed de ingesta.
+ *
+ * @param changes       cambios aplicados
+ * @param groups        grupos (brandId, productId) recalculados
+ * @param visibilityLag desde el instante de origen del lote (o su recepción) hasta que las
+ *                      consultas ven el cambio
+ */
+public record AppliedPriceChanges(int changes, int groups, Duration visibilityLag) {
+}
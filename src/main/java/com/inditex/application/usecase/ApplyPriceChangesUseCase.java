@@ -0,0 +1,104 @@
+package com.inditex.application.usecase;
+
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesChangingEvent;
+import com.inditex.domain.exception.InvalidPriceException;
+import com.inditex.domain.exception.ReadOnlyPricesException;
+import com.inditex.domain.model.PriceChange;
+import com.inditex.domain.model.PriceConstraints;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.repository.PriceRepository;
+import com.inditex.domain.repository.PriceWriteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class ApplyPriceChangesUseCase {
+
+    private final PriceWriteRepository writeRepository;
+    private final PriceRepository priceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer visibilityLag;
+
+    public ApplyPriceChangesUseCase(PriceWriteRepository writeRepository,
+                                    PriceRepository priceRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.writeRepository = writeRepository;
+        this.priceRepository = priceRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.visibilityLag = Timer.builder("pricing.changes.visibility.lag")
+                .description("Desde el origen de un lote de cambios hasta que es visible en las consultas")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Caso de uso de ingesta incremental de cambios de tarifas.
+     *
+     * Si las consultas se sirven desde un snapshot de solo lectura no se escribe nada
+     * (ReadOnlyPricesException, 409): el cambio nunca sería visible ni tendría retraso que medir.
+     *
+     * Antes de abrir la transacción cada INSERT y UPDATE se valida con PriceConstraints; si uno
+     * no las cumple no se aplica nada (InvalidPriceException, 400).
+     *
+     * El lote se aplica en una única transacción (todo o nada). Antes del commit se publica un
+     * PricesChangingEvent con los grupos afectados, con el que la caché deja de servirlos desde
+     * memoria; tras el commit, un PricesChangedEvent con los mismos grupos hace que los listeners
+     * (índice en memoria, caché) recalculen solo esos grupos y la caché vuelva a servirlos. Así el
+     * lote se ve de una vez: el índice en memoria publica su nueva versión en un solo paso y, con
+     * JPA y la caché, mientras se invalidan las claves las consultas de esos grupos van a la base
+     * de datos, donde el commit ya es atómico. Los listeners son síncronos, así que al volver el
+     * cambio ya es visible. Si la transacción falla tras el PricesChangingEvent se publica igualmente
+     * el PricesChangedEvent para que la caché no deje esos grupos fuera.
+     *
+     * @param sourceTimestamp instante en que se produjo el cambio en origen; si es null se mide
+     *                        el retraso desde la recepción
+     */
+    public AppliedPriceChanges execute(List<PriceChange> changes, Instant sourceTimestamp) {
+        Instant receivedAt = Instant.now();
+        if (!priceRepository.reflectsWrites()) {
+            throw new ReadOnlyPricesException();
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            PriceChange change = changes.get(i);
+            String violation = change.operation() == PriceChange.Operation.DELETE ? null : PriceConstraints.violation(change.price());
+            if (violation != null) {
+                throw new InvalidPriceException("Cambio " + (i + 1) + ": " + violation);
+            }
+        }
+
+        Set<PriceKey> keys = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                keys.addAll(writeRepository.apply(changes));
+                eventPublisher.publishEvent(new PricesChangingEvent(keys));
+            });
+        } finally {
+            if (!keys.isEmpty()) {
+                eventPublisher.publishEvent(new PricesChangedEvent(keys));
+            }
+        }
+
+        Duration lag = Duration.between(sourceTimestamp != null ? sourceTimestamp : receivedAt, Instant.now());
+        visibilityLag.record(lag.isNegative() ? Duration.ZERO : lag);
+
+        log.info("📝 Cambios de precios aplicados: cambios={}, grupos={}, retraso={} ms",
+                changes.size(), keys.size(), lag.toMillis());
+        return new AppliedPriceChanges(changes.size(), keys.size(), lag);
+    }
+}
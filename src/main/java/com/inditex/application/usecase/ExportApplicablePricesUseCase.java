@@ -0,0 +1,27 @@
+package com.inditex.application.usecase;
+
+import com.inditex.domain.model.Price;
+import com.inditex.domain.service.PriceService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+@Component
+public class ExportApplicablePricesUseCase {
+
+    private final PriceService priceService;
+
+    public ExportApplicablePricesUseCase(PriceService priceService) {
+        this.priceService = priceService;
+    }
+
+    /**
+     * Caso de uso para exportar el precio aplicable de todos los productos de una marca
+     * en un instante dado. Los precios se entregan al consumidor según se leen, sin
+     * acumularlos en memoria.
+     */
+    public void execute(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        priceService.forEachApplicablePrice(brandId, date, consumer);
+    }
+}
@@ -1,5 +1,8 @@
 package com.inditex.application.usecase;
 
+import com.inditex.application.metrics.PriceMetrics;
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
 import com.inditex.domain.model.Price;
 import com.inditex.domain.service.PriceService;
 import org.springframework.stereotype.Component;
@@ -10,9 +13,11 @@ import java.time.LocalDateTime;
 public class GetApplicablePriceUseCase {
 
     private final PriceService priceService;
+    private final PriceMetrics metrics;
 
-    public GetApplicablePriceUseCase(PriceService priceService) {
+    public GetApplicablePriceUseCase(PriceService priceService, PriceMetrics metrics) {
         this.priceService = priceService;
+        this.metrics = metrics;
     }
 
     /**
@@ -24,4 +29,55 @@ public class GetApplicablePriceUseCase {
     public Price execute(Long productId, Long brandId, LocalDateTime date) {
         return priceService.getApplicablePrice(productId, brandId, date);
     }
+
+    /**
+     * Variante primitiva del caso de uso para el camino caliente: identificadores long,
+     * fecha en segundos epoch y tarifa compacta, sin Optional ni boxing.
+     */
+    public CompactPrice executeCompact(long productId, long brandId, long epochSecond) {
+        long start = System.nanoTime();
+        try {
+            return priceService.getApplicableCompactPrice(productId, brandId, epochSecond);
+        } finally {
+            metrics.recordLatency(PriceMetrics.Layer.USE_CASE, start);
+        }
+    }
+
+    /**
+     * Igual que executeCompact, pero indicando la versión del snapshot de datos que resolvió la
+     * consulta y, con withSegmentEnd, hasta cuándo dura su tramo de precio (para que HTTP pueda
+     * fijar la caducidad; sin él vale -1). Sin caché, el tramo sale de la misma consulta puntual
+     * que la tarifa (ver PriceRepository.findApplicableSegment), sin leer la línea temporal.
+     *
+     * Los snapshots se publican sin bloquear a los lectores, así que la versión se valida como en
+     * un seqlock: se lee antes y después de la consulta y, si ha cambiado entretanto, se repite.
+     * Las versiones solo crecen, de modo que coincidir garantiza que la consulta vio esa versión.
+     * Con la caché de líneas temporales delante, la versión es la de la línea temporal cacheada.
+     */
+    public VersionedPrice executeVersioned(long productId, long brandId, long epochSecond, boolean withSegmentEnd) {
+        long version;
+        CompactPrice price;
+        long segmentEnd;
+        do {
+            version = priceService.snapshotVersion(brandId, productId);
+            if (withSegmentEnd) {
+                CompactPriceSegment segment = executeSegment(productId, brandId, epochSecond);
+                price = segment.price();
+                segmentEnd = segment.endEpochSecond();
+            } else {
+                price = executeCompact(productId, brandId, epochSecond);
+                segmentEnd = -1;
+            }
+        } while (version != priceService.snapshotVersion(brandId, productId));
+        return new VersionedPrice(price, version, segmentEnd);
+    }
+
+    private CompactPriceSegment executeSegment(long productId, long brandId, long epochSecond) {
+        long start = System.nanoTime();
+        try {
+            return priceService.getApplicableSegment(productId, brandId, epochSecond);
+        } finally {
+            metrics.recordLatency(PriceMetrics.Layer.USE_CASE, start);
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.inditex.application.usecase;
+
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.service.PriceService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class GetApplicablePricesUseCase {
+
+    private final PriceService priceService;
+
+    public GetApplicablePricesUseCase(PriceService priceService) {
+        this.priceService = priceService;
+    }
+
+    /**
+     * Caso de uso para obtener en una sola llamada el precio aplicable de varias líneas
+     * (carrito, página de catálogo...). Devuelve los resultados en el orden de las consultas.
+     */
+    public List<Optional<Price>> execute(List<PriceQuery> queries) {
+        return priceService.getApplicablePrices(queries);
+    }
+}
@@ -0,0 +1,50 @@
+package com.inditex.application.usecase;
+
+import com.inditex.domain.exception.InvalidDateRangeException;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.service.PriceService;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class GetPriceTimelineUseCase {
+
+    private final PriceService priceService;
+
+    public GetPriceTimelineUseCase(PriceService priceService) {
+        this.priceService = priceService;
+    }
+
+    /**
+     * Caso de uso para obtener la línea temporal de precio efectivo de un producto y marca:
+     * los tramos sin solapes en los que ya se ha resuelto qué tarifa aplica.
+     */
+    public PriceTimeline execute(Long productId, Long brandId) {
+        return priceService.getTimeline(productId, brandId);
+    }
+
+    /**
+     * Tramos de precio efectivo dentro de [from, to], recortados a ese rango.
+     *
+     * @throws InvalidDateRangeException si from es posterior a to
+     */
+    public List<PriceSegment> execute(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        return priceService.getTimeline(productId, brandId).segments(from, to);
+    }
+
+    /**
+     * Precio aplicable de un producto y marca en varios instantes, resueltos con un único
+     * recorrido de su línea temporal. El resultado conserva el orden de los instantes.
+     */
+    public List<Optional<Price>> executeAt(Long productId, Long brandId, List<LocalDateTime> dates) {
+        return priceService.getTimeline(productId, brandId).findAll(dates);
+    }
+}
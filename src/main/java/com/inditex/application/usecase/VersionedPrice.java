@@ -0,0 +1,11 @@
+package com.inditex.application.usecase;
+
+import com.inditex.domain.model.CompactPrice;
+
+/**
+ * Tarifa aplicable junto con la versión del snapshot de datos que la resolvió
+ * (0 si el repositorio consulta la fuente directamente o hay una caché delante) y el último segundo epoch del tramo
+ * de la línea temporal en el que cae la consulta (-1 si no se ha calculado).
+ */
+public record VersionedPrice(CompactPrice price, long snapshotVersion, long segmentEndEpochSecond) {
+}
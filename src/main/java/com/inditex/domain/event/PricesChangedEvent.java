@@ -0,0 +1,18 @@
+package com.inditex.domain.event;
+
+import com.inditex.domain.model.PriceKey;
+
+import java.util.Set;
+
+/**
+ * Evento de dominio que indica que han cambiado filas de PRICES.
+ *
+ * Solo transporta las claves (brandId, productId) afectadas, de modo que las
+ * estructuras derivadas (índices, cachés...) recalculen únicamente esos grupos.
+ */
+public record PricesChangedEvent(Set<PriceKey> keys) {
+
+    public PricesChangedEvent {
+        keys = Set.copyOf(keys);
+    }
+}
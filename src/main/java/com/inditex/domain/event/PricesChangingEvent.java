@@ -0,0 +1,20 @@
+package com.inditex.domain.event;
+
+import com.inditex.domain.model.PriceKey;
+
+import java.util.Set;
+
+/**
+ * Evento de dominio que se publica dentro de la transacción de un lote de cambios, antes del
+ * commit, con las claves (brandId, productId) que va a modificar.
+ *
+ * Permite a las estructuras derivadas que no se actualizan en un solo paso (la caché de líneas
+ * temporales) dejar de servir esos grupos hasta el PricesChangedEvent del mismo lote, de modo
+ * que ningún lector vea solo una parte del lote.
+ */
+public record PricesChangingEvent(Set<PriceKey> keys) {
+
+    public PricesChangingEvent {
+        keys = Set.copyOf(keys);
+    }
+}
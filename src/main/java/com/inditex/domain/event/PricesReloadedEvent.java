@@ -0,0 +1,9 @@
+package com.inditex.domain.event;
+
+/**
+ * Evento de dominio que indica que ha cambiado una parte de PRICES demasiado grande para
+ * enumerar sus claves (por ejemplo, una importación masiva). Las estructuras derivadas
+ * deben recargarse o invalidarse por completo.
+ */
+public record PricesReloadedEvent(long changedRows) {
+}
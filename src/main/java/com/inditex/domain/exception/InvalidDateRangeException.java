@@ -0,0 +1,9 @@
+package com.inditex.domain.exception;
+
+import java.time.LocalDateTime;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(LocalDateTime from, LocalDateTime to) {
+        super("Rango de fechas inválido: from " + from + " es posterior a to " + to);
+    }
+}
@@ -0,0 +1,7 @@
+package com.inditex.domain.exception;
+
+public class InvalidPriceException extends RuntimeException {
+    public InvalidPriceException(String message) {
+        super(message);
+    }
+}
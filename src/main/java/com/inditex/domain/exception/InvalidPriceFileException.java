@@ -0,0 +1,7 @@
+package com.inditex.domain.exception;
+
+public class InvalidPriceFileException extends RuntimeException {
+    public InvalidPriceFileException(String message) {
+        super(message);
+    }
+}
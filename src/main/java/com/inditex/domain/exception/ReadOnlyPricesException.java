@@ -0,0 +1,7 @@
+package com.inditex.domain.exception;
+
+public class ReadOnlyPricesException extends RuntimeException {
+    public ReadOnlyPricesException() {
+        super("Las consultas se sirven desde un snapshot de solo lectura: los cambios no serían visibles");
+    }
+}
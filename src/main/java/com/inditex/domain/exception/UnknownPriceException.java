@@ -0,0 +1,7 @@
+package com.inditex.domain.exception;
+
+public class UnknownPriceException extends RuntimeException {
+    public UnknownPriceException(Long id) {
+        super("No existe la tarifa con id " + id);
+    }
+}
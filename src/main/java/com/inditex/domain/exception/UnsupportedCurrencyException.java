@@ -0,0 +1,7 @@
+package com.inditex.domain.exception;
+
+public class UnsupportedCurrencyException extends RuntimeException {
+    public UnsupportedCurrencyException(String from, String to) {
+        super("No hay tipo de cambio de " + from + " a " + to);
+    }
+}
@@ -0,0 +1,51 @@
+package com.inditex.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Representación compacta e inmutable de una tarifa para el camino caliente de consulta.
+ *
+ * Solo contiene primitivos: fechas en segundos epoch (UTC, sin zona) e importe escalado
+ * como long con {@link #SCALE} decimales, igual que la columna PRICE DECIMAL(10,2).
+ * Las líneas temporales la precalculan al construirse, así que resolver un precio
+ * devuelve una instancia existente sin reservar memoria.
+ */
+public record CompactPrice(
+        long id,
+        long productId,
+        long brandId,
+        long priceList,
+        long startEpochSecond,
+        long endEpochSecond,
+        long priceUnits,
+        String currency
+) {
+    public static final int SCALE = 2;
+
+    public static CompactPrice from(Price price) {
+        return new CompactPrice(
+                price.getId() != null ? price.getId() : 0L,
+                price.getProductId(),
+                price.getBrandId(),
+                price.getPriceList(),
+                PriceTimeline.toEpochSecond(price.getStartDate()),
+                PriceTimeline.toEpochSecond(price.getEndDate()),
+                price.getPrice().setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact(),
+                price.getCurr().intern()
+        );
+    }
+
+    public BigDecimal price() {
+        return BigDecimal.valueOf(priceUnits, SCALE);
+    }
+
+    public LocalDateTime startDate() {
+        return PriceTimeline.toDateTime(startEpochSecond);
+    }
+
+    public LocalDateTime endDate() {
+        return PriceTimeline.toDateTime(endEpochSecond);
+    }
+}
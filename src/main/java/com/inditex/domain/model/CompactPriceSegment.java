@@ -0,0 +1,8 @@
+package com.inditex.domain.model;
+
+/**
+ * Tarifa compacta aplicable en un instante junto con el último segundo epoch del tramo de la
+ * línea temporal que lo contiene: hasta entonces el precio aplicable no cambia.
+ */
+public record CompactPriceSegment(CompactPrice price, long endEpochSecond) {
+}
@@ -0,0 +1,44 @@
+package com.inditex.domain.model;
+
+import com.inditex.domain.exception.UnsupportedCurrencyException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Tabla inmutable de tipos de cambio frente a una moneda base (la que tiene tipo 1).
+ *
+ * Cada moneda guarda cuántas unidades suyas vale una unidad de la base y con cuántos decimales se
+ * redondean sus importes (los de ISO 4217 salvo que la tabla indique otros: JPY 0, KWD 3...).
+ * Convertir multiplica por el tipo de destino y divide por el de origen redondeando una sola vez,
+ * a los decimales del destino y con el modo de redondeo de la tabla.
+ *
+ * version identifica la tabla que resolvió una conversión: cada recarga publica una nueva.
+ */
+public record FxRates(long version, RoundingMode rounding, Map<String, Rate> rates) {
+
+    public record Rate(BigDecimal unitsPerBase, int fractionDigits) {
+    }
+
+    public FxRates {
+        rates = Map.copyOf(rates);
+    }
+
+    public static FxRates empty() {
+        return new FxRates(0, RoundingMode.HALF_EVEN, Map.of());
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to) {
+        Rate source = rates.get(from);
+        Rate target = rates.get(to);
+        if (source == null || target == null) {
+            throw new UnsupportedCurrencyException(from, to);
+        }
+        return amount.multiply(target.unitsPerBase()).divide(source.unitsPerBase(), target.fractionDigits(), rounding);
+    }
+}
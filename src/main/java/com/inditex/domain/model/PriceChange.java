@@ -0,0 +1,27 @@
+package com.inditex.domain.model;
+
+/**
+ * Cambio sobre una fila de PRICES recibido por el feed de ingesta.
+ *
+ * - INSERT: fila nueva, sin id (lo genera la base de datos).
+ * - UPDATE: reemplaza todos los campos de la fila con ese id; puede moverla de grupo.
+ * - DELETE: borra la fila con ese id; solo se usa el id.
+ */
+public record PriceChange(Operation operation, Price price) {
+
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    public static PriceChange insert(Price price) {
+        return new PriceChange(Operation.INSERT, price);
+    }
+
+    public static PriceChange update(Price price) {
+        return new PriceChange(Operation.UPDATE, price);
+    }
+
+    public static PriceChange delete(Long id) {
+        return new PriceChange(Operation.DELETE, Price.builder().id(id).build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.inditex.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reglas que debe cumplir una tarifa antes de escribirse en PRICES, compartidas por la
+ * importación masiva y el feed de cambios: la fecha de inicio no es posterior a la de fin, la
+ * moneda es un código ISO 4217 y el precio no es negativo y cabe en DECIMAL(10,2).
+ */
+public final class PriceConstraints {
+
+    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_PRECISION = 10;
+
+    private static final Set<String> CURRENCIES = Currency.getAvailableCurrencies().stream()
+            .map(Currency::getCurrencyCode)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private PriceConstraints() {
+    }
+
+    /**
+     * Devuelve el motivo por el que la tarifa no es válida, o null si cumple todas las reglas.
+     * Supone que los campos obligatorios ya están informados.
+     */
+    public static String violation(Price price) {
+        if (price.getStartDate().isAfter(price.getEndDate())) {
+            return "START_DATE posterior a END_DATE";
+        }
+        if (!CURRENCIES.contains(price.getCurr())) {
+            return "Moneda no ISO 4217: " + price.getCurr();
+        }
+        BigDecimal amount = price.getPrice();
+        if (amount.signum() < 0) {
+            return "Precio negativo: " + amount;
+        }
+        if (amount.scale() > PRICE_SCALE || amount.precision() - amount.scale() > PRICE_PRECISION - PRICE_SCALE) {
+            return "Precio fuera de DECIMAL(10,2): " + amount;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.inditex.domain.model;
+
+/**
+ * Clave de agrupación de tarifas: una marca y un producto.
+ *
+ * Todas las filas de PRICES que compiten por la misma consulta comparten clave,
+ * por lo que es la unidad natural para indexar, cachear o invalidar precios.
+ */
+public record PriceKey(long brandId, long productId) {
+
+    public static PriceKey of(Price price) {
+        return new PriceKey(price.getBrandId(), price.getProductId());
+    }
+}
@@ -0,0 +1,13 @@
+package com.inditex.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consulta de precio aplicable: producto, marca y fecha de aplicación.
+ */
+public record PriceQuery(Long productId, Long brandId, LocalDateTime date) {
+
+    public PriceKey key() {
+        return new PriceKey(brandId, productId);
+    }
+}
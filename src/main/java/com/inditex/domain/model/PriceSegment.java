@@ -0,0 +1,10 @@
+package com.inditex.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tramo de la línea temporal de precios en el que una única tarifa es la aplicable.
+ * Ambos extremos son inclusivos.
+ */
+public record PriceSegment(LocalDateTime startDate, LocalDateTime endDate, Price price) {
+}
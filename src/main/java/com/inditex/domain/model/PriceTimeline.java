@@ -0,0 +1,270 @@
+package com.inditex.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Línea temporal de precio efectivo de un grupo (brandId, productId).
+ *
+ * Aplana las tarifas del grupo en tramos sin solapes, ordenados por inicio, en los que
+ * la tarifa de mayor prioridad ya ha ganado. Resolver una fecha es una única búsqueda
+ * binaria, sin comparar prioridades.
+ *
+ * Las fechas se manejan con resolución de segundos, la misma que tienen los datos.
+ *
+ * Puede llevar la versión del snapshot de datos del que se leyó (ver withVersion), para que quien
+ * la guarde en caché sepa qué versión sirve sus consultas.
+ */
+public final class PriceTimeline {
+
+    private static final PriceTimeline EMPTY =
+            new PriceTimeline(new long[0], new long[0], new Price[0], new CompactPrice[0], 0, 0);
+
+    /**
+     * Mayor prioridad primero; a igual prioridad, la tarifa que empieza más tarde.
+     */
+    private static final Comparator<Price> BY_PRIORITY = Comparator
+            .comparing(Price::getPriority)
+            .thenComparing(Price::getStartDate)
+            .reversed();
+
+    private final long[] starts;
+    private final long[] ends;
+    private final Price[] winners;
+    private final CompactPrice[] compactWinners;
+    private final int rowCount;
+    private final long version;
+
+    private PriceTimeline(long[] starts, long[] ends, Price[] winners, CompactPrice[] compactWinners, int rowCount, long version) {
+        this.starts = starts;
+        this.ends = ends;
+        this.winners = winners;
+        this.compactWinners = compactWinners;
+        this.rowCount = rowCount;
+        this.version = version;
+    }
+
+    public static PriceTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * La misma línea temporal, compartiendo sus tramos, marcada con la versión del snapshot de
+     * datos del que se leyó.
+     */
+    public PriceTimeline withVersion(long version) {
+        return new PriceTimeline(starts, ends, winners, compactWinners, rowCount, version);
+    }
+
+    /**
+     * Versión del snapshot de datos del que se leyó; 0 si no se conoce.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Barrido sobre los puntos de corte (inicio y final + 1s de cada fila) manteniendo
+     * las filas vigentes en una cola por prioridad. Los tramos contiguos con la misma
+     * fila ganadora se fusionan.
+     */
+    public static PriceTimeline flatten(Collection<Price> rows) {
+        if (rows.isEmpty()) {
+            return EMPTY;
+        }
+
+        TreeSet<Long> cuts = new TreeSet<>();
+        for (Price row : rows) {
+            cuts.add(toEpochSecond(row.getStartDate()));
+            cuts.add(toEpochSecond(row.getEndDate()) + 1);
+        }
+
+        List<Price> byStart = new ArrayList<>(rows);
+        byStart.sort(Comparator.comparing(Price::getStartDate));
+
+        PriorityQueue<Price> active = new PriorityQueue<>(BY_PRIORITY);
+        List<long[]> bounds = new ArrayList<>();
+        List<Price> winners = new ArrayList<>();
+        int next = 0;
+
+        Long[] points = cuts.toArray(new Long[0]);
+        for (int i = 0; i < points.length - 1; i++) {
+            long from = points[i];
+            long to = points[i + 1] - 1;
+
+            while (next < byStart.size() && toEpochSecond(byStart.get(next).getStartDate()) <= from) {
+                active.add(byStart.get(next++));
+            }
+            while (!active.isEmpty() && toEpochSecond(active.peek().getEndDate()) < from) {
+                active.poll();
+            }
+            if (active.isEmpty()) {
+                continue;
+            }
+
+            Price winner = active.peek();
+            int last = winners.size() - 1;
+            if (last >= 0 && winners.get(last) == winner && bounds.get(last)[1] == from - 1) {
+                bounds.get(last)[1] = to;
+            } else {
+                bounds.add(new long[]{from, to});
+                winners.add(winner);
+            }
+        }
+
+        long[] starts = new long[bounds.size()];
+        long[] ends = new long[bounds.size()];
+        CompactPrice[] compactWinners = new CompactPrice[bounds.size()];
+        Map<Price, CompactPrice> compacted = new IdentityHashMap<>();
+        for (int i = 0; i < bounds.size(); i++) {
+            starts[i] = bounds.get(i)[0];
+            ends[i] = bounds.get(i)[1];
+            compactWinners[i] = compacted.computeIfAbsent(winners.get(i), CompactPrice::from);
+        }
+        return new PriceTimeline(starts, ends, winners.toArray(new Price[0]), compactWinners, rows.size(), 0);
+    }
+
+    public Optional<Price> find(LocalDateTime date) {
+        return Optional.ofNullable(find(toEpochSecond(date)));
+    }
+
+    /**
+     * Devuelve la tarifa aplicable en el segundo indicado o null si cae en un hueco.
+     */
+    public Price find(long epochSecond) {
+        int idx = segmentAt(epochSecond);
+        return idx < 0 ? null : winners[idx];
+    }
+
+    /**
+     * Igual que find(long) pero devuelve la representación compacta precalculada.
+     * No reserva memoria.
+     */
+    public CompactPrice findCompact(long epochSecond) {
+        int idx = segmentAt(epochSecond);
+        return idx < 0 ? null : compactWinners[idx];
+    }
+
+    /**
+     * Tarifa compacta aplicable en el segundo indicado junto con el último segundo de su tramo,
+     * o null si cae en un hueco.
+     */
+    public CompactPriceSegment findSegment(long epochSecond) {
+        int idx = segmentAt(epochSecond);
+        return idx < 0 ? null : new CompactPriceSegment(compactWinners[idx], ends[idx]);
+    }
+
+    /**
+     * Último segundo del tramo que contiene epochSecond, o -1 si cae en un hueco.
+     * A partir de ese instante el precio aplicable puede ser otro.
+     */
+    public long segmentEndAt(long epochSecond) {
+        int idx = segmentAt(epochSecond);
+        return idx < 0 ? -1 : ends[idx];
+    }
+
+    private int segmentAt(long epochSecond) {
+        int idx = Arrays.binarySearch(starts, epochSecond);
+        if (idx < 0) {
+            idx = -idx - 2;
+        }
+        if (idx < 0 || epochSecond > ends[idx]) {
+            return -1;
+        }
+        return idx;
+    }
+
+    /**
+     * Exporta los tramos para inspección.
+     */
+    public List<PriceSegment> segments() {
+        List<PriceSegment> segments = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            segments.add(new PriceSegment(toDateTime(starts[i]), toDateTime(ends[i]), winners[i]));
+        }
+        return segments;
+    }
+
+    /**
+     * Tramos que se solapan con [from, to] (ambos inclusivos), recortados a ese rango.
+     * Localiza el primero por búsqueda binaria y recorre solo los del rango.
+     */
+    public List<PriceSegment> segments(LocalDateTime from, LocalDateTime to) {
+        long fromSecond = toEpochSecond(from);
+        long toSecond = toEpochSecond(to);
+        List<PriceSegment> segments = new ArrayList<>();
+        int idx = Arrays.binarySearch(starts, fromSecond);
+        for (int i = idx < 0 ? Math.max(0, -idx - 2) : idx; i < starts.length && starts[i] <= toSecond; i++) {
+            if (ends[i] >= fromSecond) {
+                segments.add(new PriceSegment(
+                        toDateTime(Math.max(starts[i], fromSecond)),
+                        toDateTime(Math.min(ends[i], toSecond)),
+                        winners[i]));
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Resuelve varios instantes de una vez, en el orden recibido. Los instantes se ordenan y se
+     * recorren a la par que los tramos, así que el coste es lineal en instantes más tramos en
+     * lugar de una búsqueda binaria por instante.
+     */
+    public List<Optional<Price>> findAll(List<LocalDateTime> dates) {
+        Integer[] order = new Integer[dates.size()];
+        long[] seconds = new long[dates.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            seconds[i] = toEpochSecond(dates.get(i));
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> seconds[i]));
+
+        List<Optional<Price>> prices = new ArrayList<>(Collections.nCopies(order.length, Optional.empty()));
+        int segment = 0;
+        for (int i : order) {
+            while (segment < starts.length && ends[segment] < seconds[i]) {
+                segment++;
+            }
+            if (segment < starts.length && starts[segment] <= seconds[i]) {
+                prices.set(i, Optional.of(winners[segment]));
+            }
+        }
+        return prices;
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public int segmentCount() {
+        return starts.length;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Segundo que contiene date: las fracciones de segundo se descartan. Las tarifas se resuelven
+     * con resolución de segundo, así que una tarifa que termina a las 23:59:59 cubre todo ese
+     * segundo (también 23:59:59.5). JpaPriceRepository recorta igual la fecha de sus consultas.
+     */
+    public static long toEpochSecond(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
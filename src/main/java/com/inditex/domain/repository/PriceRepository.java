@@ -1,10 +1,76 @@
 package com.inditex.domain.repository;
 
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
 import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PriceRepository {
     Optional<Price> findApplicablePrice(Long productId, Long brandId, LocalDateTime date);
+
+    /**
+     * Variante primitiva de findApplicablePrice para el camino caliente: identificadores long,
+     * fecha en segundos epoch (UTC) y null en lugar de Optional cuando no hay precio.
+     * Las implementaciones en memoria la resuelven sin reservar memoria.
+     */
+    default CompactPrice findApplicableCompactPrice(long productId, long brandId, long epochSecond) {
+        return findApplicablePrice(productId, brandId, PriceTimeline.toDateTime(epochSecond))
+                .map(CompactPrice::from)
+                .orElse(null);
+    }
+
+    /**
+     * Como findApplicableCompactPrice, pero con el último segundo del tramo en el que la tarifa
+     * sigue siendo la aplicable: su fin o el segundo anterior al inicio de la siguiente tarifa
+     * que la desplaza. null si no hay precio. Por defecto se resuelve sobre la línea temporal;
+     * las implementaciones con E/S lo hacen con una consulta puntual.
+     */
+    default CompactPriceSegment findApplicableSegment(long productId, long brandId, long epochSecond) {
+        return findTimeline(productId, brandId).findSegment(epochSecond);
+    }
+
+    /**
+     * Resuelve varias consultas de una vez. El resultado conserva el orden de las consultas
+     * y contiene Optional.empty() para las que no tienen precio aplicable.
+     */
+    List<Optional<Price>> findApplicablePrices(List<PriceQuery> queries);
+
+    PriceTimeline findTimeline(Long productId, Long brandId);
+
+    /**
+     * Recorre en streaming el precio aplicable de cada producto de una marca en una fecha,
+     * entregándolos al consumidor según se leen, ordenados por producto.
+     */
+    void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer);
+
+    /**
+     * Versión del snapshot de datos que resuelve las consultas en este momento. Crece con cada
+     * actualización publicada; 0 si la implementación consulta la fuente directamente y no
+     * trabaja con snapshots versionados.
+     */
+    default long snapshotVersion() {
+        return 0;
+    }
+
+    /**
+     * true si las consultas se resuelven sin E/S (índice o snapshot en memoria). Para estas
+     * implementaciones no compensa agrupar consultas concurrentes ni cachear sus resultados.
+     */
+    default boolean isInMemory() {
+        return false;
+    }
+
+    /**
+     * false si las consultas no ven lo que se escribe en PRICES (snapshot mapeado de solo lectura):
+     * en ese caso la ingesta de cambios se rechaza en lugar de aceptar datos que nadie verá.
+     */
+    default boolean reflectsWrites() {
+        return true;
+    }
 }
@@ -0,0 +1,31 @@
+package com.inditex.domain.repository;
+
+import com.inditex.domain.model.Price;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reparto de PRICES en shards independientes. La clave de partición es la marca (las marcas no
+ * comparten filas) y, opcionalmente, un hash del producto para repartir una marca muy grande.
+ * Cada shard es un PriceRepository completo sobre su parte de los datos.
+ */
+public interface PriceShardRouter {
+
+    /**
+     * Shard que contiene el grupo (brandId, productId).
+     */
+    PriceRepository shardFor(long brandId, long productId);
+
+    /**
+     * Shards que pueden contener filas de la marca: uno solo salvo que se particione también por producto.
+     */
+    List<PriceRepository> shardsOf(long brandId);
+
+    /**
+     * Exportación de una marca sobre todos sus shards, entregada en streaming y ordenada por
+     * producto como PriceRepository.forEachApplicablePrice.
+     */
+    void forEachApplicablePrice(long brandId, LocalDateTime date, Consumer<Price> consumer);
+}
@@ -0,0 +1,27 @@
+package com.inditex.domain.repository;
+
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceChange;
+import com.inditex.domain.model.PriceKey;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puerto de escritura de PRICES, separado del de lectura (PriceRepository): las implementaciones
+ * de lectura en memoria o mapeadas no escriben, se actualizan a partir de PricesChangedEvent.
+ */
+public interface PriceWriteRepository {
+
+    /**
+     * Aplica los cambios en orden y devuelve las claves (brandId, productId) afectadas, incluidas
+     * las de origen de las filas que cambian de grupo. No gestiona la transacción.
+     */
+    Set<PriceKey> apply(List<PriceChange> changes);
+
+    /**
+     * Inserta filas nuevas (sin id) en bloque, sin pasar por el contexto de persistencia.
+     * No gestiona la transacción ni publica eventos. Devuelve las filas insertadas.
+     */
+    int insertAll(List<Price> prices);
+}
@@ -1,9 +1,36 @@
 package com.inditex.domain.service;
 
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
 import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PriceService {
     Price getApplicablePrice(Long productId, Long brandId, LocalDateTime date);
+
+    CompactPrice getApplicableCompactPrice(long productId, long brandId, long epochSecond);
+
+    /**
+     * Como getApplicableCompactPrice, pero devolviendo también hasta cuándo dura el tramo.
+     */
+    CompactPriceSegment getApplicableSegment(long productId, long brandId, long epochSecond);
+
+    List<Optional<Price>> getApplicablePrices(List<PriceQuery> queries);
+
+    PriceTimeline getTimeline(Long productId, Long brandId);
+
+    void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer);
+
+    /**
+     * Versión del snapshot de datos que resuelve el grupo (brandId, productId); ver PriceRepository.
+     * Con una caché delante es la versión de la que se cargó la línea temporal cacheada. 0 si el
+     * repositorio no trabaja con snapshots versionados.
+     */
+    long snapshotVersion(long brandId, long productId);
 }
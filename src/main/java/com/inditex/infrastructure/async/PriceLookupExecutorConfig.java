@@ -0,0 +1,54 @@
+package com.inditex.infrastructure.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool acotado que resuelve las consultas de GET /api/prices/async.
+ *
+ * Número fijo de hilos y cola de admisión de tamaño fijo: cuando ambos están ocupados la consulta
+ * se rechaza al instante (AbortPolicy) en lugar de encolarse sin límite, y el controlador responde
+ * 503. Lo que entra en la cola espera como mucho pricing.async.queue-timeout; al vencer también se
+ * responde 503 (pricing.async.expired cuenta estos casos). Las métricas del pool (executor.queued,
+ * executor.active, executor.completed...) se publican con tag name=priceLookup.
+ * Se expone como PriceLookupPool, no como Executor (ver PriceLookupPool).
+ */
+@Configuration
+public class PriceLookupExecutorConfig {
+
+    public static final String EXECUTOR_NAME = "priceLookup";
+
+    @Bean(destroyMethod = "shutdown")
+    public PriceLookupPool priceLookupPool(
+            @Value("${pricing.async.threads:0}") int threads,
+            @Value("${pricing.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${pricing.async.queue-timeout:500ms}") Duration queueTimeout,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("price-lookup-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, List.of()).bindTo(meterRegistry);
+        ScheduledThreadPoolExecutor deadlines = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("price-lookup-deadline-"));
+        deadlines.setRemoveOnCancelPolicy(true);
+        Counter expired = Counter.builder("pricing.async.expired")
+                .description("Consultas asíncronas descartadas por superar el plazo de espera en cola")
+                .register(meterRegistry);
+        return new PriceLookupPool(executor, deadlines, queueTimeout, expired);
+    }
+}
@@ -0,0 +1,17 @@
+package com.inditex.infrastructure.async;
+
+import java.time.Duration;
+
+/**
+ * La cola de admisión del endpoint asíncrono está llena, o una consulta ha superado en ella su
+ * plazo de espera. Se traduce a 503 con Retry-After.
+ */
+public class PriceLookupOverloadedException extends RuntimeException {
+    public PriceLookupOverloadedException(int queueCapacity) {
+        super("Servicio de precios saturado: cola de " + queueCapacity + " consultas llena");
+    }
+
+    public PriceLookupOverloadedException(Duration queueTimeout) {
+        super("Servicio de precios saturado: la consulta esperó en cola más de " + queueTimeout.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,94 @@
+package com.inditex.infrastructure.async;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado de GET /api/prices/async.
+ *
+ * Envuelve el ThreadPoolExecutor sin implementar Executor: un bean de tipo Executor haría que
+ * Spring Boot no creara applicationTaskExecutor (@ConditionalOnMissingBean(Executor.class)) y las
+ * peticiones asíncronas de Spring MVC (p. ej. la exportación NDJSON) acabarían en un
+ * SimpleAsyncTaskExecutor sin límite de hilos.
+ *
+ * Una consulta no espera en cola más de queueTimeout: si vence antes de que la tome un hilo, se
+ * saca de la cola y su futuro falla con PriceLookupOverloadedException. Una vez empezada no se
+ * interrumpe (la consulta JDBC sigue siendo bloqueante).
+ */
+public final class PriceLookupPool {
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Duration queueTimeout;
+    private final Counter expired;
+    private final int queueCapacity;
+
+    PriceLookupPool(ThreadPoolExecutor executor, ScheduledThreadPoolExecutor deadlines, Duration queueTimeout, Counter expired) {
+        this.executor = executor;
+        this.deadlines = deadlines;
+        this.queueTimeout = queueTimeout;
+        this.expired = expired;
+        this.queueCapacity = executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    /**
+     * Encola la tarea en el pool con el plazo de espera en cola.
+     *
+     * @throws RejectedExecutionException si todos los hilos están ocupados y la cola llena
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        Runnable queued = () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        executor.execute(queued);
+        if (claimed.get()) {
+            return future;
+        }
+
+        ScheduledFuture<?> deadline = deadlines.schedule(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                executor.remove(queued);
+                expired.increment();
+                future.completeExceptionally(new PriceLookupOverloadedException(queueTimeout));
+            }
+        }, queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        future.whenComplete((result, error) -> deadline.cancel(false));
+        return future;
+    }
+
+    /**
+     * Encola una tarea sin resultado ni plazo.
+     *
+     * @throws RejectedExecutionException si todos los hilos están ocupados y la cola llena
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    void shutdown() {
+        deadlines.shutdownNow();
+        executor.shutdown();
+    }
+}
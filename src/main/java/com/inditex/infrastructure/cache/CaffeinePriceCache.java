@@ -0,0 +1,120 @@
+package com.inditex.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.inditex.application.cache.PriceCache;
+import com.inditex.application.cache.PriceCacheStats;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesChangingEvent;
+import com.inditex.domain.event.PricesReloadedEvent;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Implementación de PriceCache sobre Caffeine, acotada por tamaño y por TTL desde la escritura.
+ *
+ * Se invalida con PricesChangedEvent y PricesReloadedEvent. Los índices en memoria
+ * (ShardedPriceStore) atienden esos eventos con Ordered.HIGHEST_PRECEDENCE, así que cuando se
+ * invalida una clave el índice ya está publicado y la siguiente carga no puede traer la línea
+ * temporal anterior. Una carga en curso de esa clave hace esperar a la invalidación.
+ *
+ * Un lote de cambios no se invalida en un solo paso, así que cada lote se anuncia antes de su
+ * commit con PricesChangingEvent: el conjunto de grupos en cambio se sustituye de una vez y,
+ * hasta el PricesChangedEvent del lote, esos grupos se cargan con el loader sin pasar por la
+ * caché. Un lector no puede ver un grupo del lote ya aplicado desde la base de datos y otro
+ * todavía anterior desde la caché.
+ */
+public class CaffeinePriceCache implements PriceCache {
+
+    private final Cache<PriceKey, PriceTimeline> cache;
+
+    /**
+     * Grupos de los lotes en curso. Es inmutable: cada lote lo sustituye entero al empezar y al terminar.
+     */
+    private volatile List<Set<PriceKey>> changing = List.of();
+
+    public CaffeinePriceCache(long maximumSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public PriceTimeline get(PriceKey key, Function<PriceKey, PriceTimeline> loader) {
+        return isChanging(key) ? loader.apply(key) : cache.get(key, loader);
+    }
+
+    @Override
+    public PriceTimeline peek(PriceKey key) {
+        return cache.policy().getIfPresentQuietly(key);
+    }
+
+    private boolean isChanging(PriceKey key) {
+        for (Set<PriceKey> keys : changing) {
+            if (keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void invalidate(Collection<PriceKey> keys) {
+        cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public PriceCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new PriceCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    @EventListener
+    public synchronized void onPricesChanging(PricesChangingEvent event) {
+        List<Set<PriceKey>> updated = new ArrayList<>(changing);
+        updated.add(event.keys());
+        changing = List.copyOf(updated);
+    }
+
+    /**
+     * Invalida los grupos del lote y solo después deja de cargarlos al margen de la caché.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPricesChanged(PricesChangedEvent event) {
+        invalidate(event.keys());
+        synchronized (this) {
+            List<Set<PriceKey>> updated = new ArrayList<>(changing);
+            updated.remove(event.keys());
+            changing = List.copyOf(updated);
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onPricesReloaded(PricesReloadedEvent event) {
+        cache.invalidateAll();
+    }
+
+    Cache<PriceKey, PriceTimeline> nativeCache() {
+        return cache;
+    }
+}
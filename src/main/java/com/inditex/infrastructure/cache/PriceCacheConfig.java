@@ -0,0 +1,37 @@
+package com.inditex.infrastructure.cache;
+
+import com.inditex.application.cache.PriceCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de precios.
+ *
+ * Con pricing.cache.enabled=true (por defecto) se usa Caffeine y sus contadores de aciertos,
+ * fallos y expulsiones se publican en Micrometer como cache.* con tag cache=prices.
+ * Con pricing.cache.enabled=false no se registra ninguna caché y el servicio consulta
+ * el repositorio en cada petición. Tampoco se registra con pricing.repository.type=memory o
+ * snapshot: el índice ya resuelve en memoria y una caché delante solo añadiría una copia que
+ * invalidar.
+ */
+@Configuration
+public class PriceCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "pricing.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnExpression("!{'memory', 'snapshot'}.contains('${pricing.repository.type:jpa}')")
+    public PriceCache caffeinePriceCache(@Value("${pricing.cache.maximum-size:10000}") long maximumSize,
+                                        @Value("${pricing.cache.ttl:5m}") Duration ttl,
+                                        MeterRegistry meterRegistry) {
+        CaffeinePriceCache cache = new CaffeinePriceCache(maximumSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.nativeCache(), "prices");
+        return cache;
+    }
+}
@@ -0,0 +1,144 @@
+package com.inditex.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesReloadedEvent;
+import com.inditex.domain.exception.UnsupportedCurrencyException;
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.FxRates;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Set;
+
+/**
+ * Caché de respuestas de GET /api/prices ya serializadas (JSON o binario), con su ETag.
+ *
+ * La respuesta no depende de la fecha consultada, solo de la tarifa ganadora del tramo, así que
+ * todas las peticiones que caen en el mismo tramo comparten los mismos bytes. La clave es la
+ * tarifa compacta del tramo (por valor): un cambio en la fila produce otra clave, por lo que una
+ * entrada nunca sirve datos obsoletos. Aun así, PricesChangedEvent y PricesReloadedEvent liberan
+ * las entradas de los grupos afectados para no retener memoria inútil.
+ *
+ * Las respuestas binarias y las convertidas a otra moneda llevan en la clave el formato, la moneda
+ * y la versión de la tabla de cambio: al publicarse otra tabla dejan de usarse y las expulsa el
+ * límite de tamaño. Las JSON en la moneda de la tarifa usan la propia tarifa como clave, sin
+ * reservar memoria.
+ *
+ * Los contadores se publican en Micrometer como cache.* con tag cache=price-responses.
+ * Con pricing.response-cache.enabled=false cada respuesta se serializa de nuevo.
+ */
+@Component
+public class PriceResponseBodyCache {
+
+    /**
+     * Codificación del cuerpo: JSON (Jackson) o binaria (PriceBinaryCodec, sin Jackson).
+     */
+    public enum Format {
+        JSON,
+        BINARY
+    }
+
+    /**
+     * Cuerpo y ETag de una respuesta. El array se comparte entre peticiones: no se modifica.
+     * El ETag es fuerte: id de la tarifa más el MD5 del cuerpo, que hace de versión de la fila
+     * (PRICES no tiene columna de versión) y distingue cada moneda y formato.
+     */
+    public record EncodedPrice(byte[] body, String etag) {
+    }
+
+    /**
+     * Clave de las respuestas que no son el JSON sin convertir: currency es null y fxVersion 0
+     * si no hay conversión.
+     */
+    private record EncodedKey(CompactPrice price, String currency, long fxVersion, Format format) {
+    }
+
+    private final ObjectWriter writer;
+    private final Cache<Object, EncodedPrice> cache;
+
+    public PriceResponseBodyCache(ObjectMapper objectMapper,
+                                  @Value("${pricing.response-cache.enabled:true}") boolean enabled,
+                                  @Value("${pricing.response-cache.maximum-size:10000}") long maximumSize,
+                                  MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writerFor(PriceResponseDto.class);
+        this.cache = enabled
+                ? Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build()
+                : null;
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "price-responses");
+        }
+    }
+
+    public EncodedPrice get(CompactPrice price) {
+        return cache == null ? encode(price, null, null, Format.JSON) : cache.get(price, key -> encode(price, null, null, Format.JSON));
+    }
+
+    /**
+     * Respuesta en el formato indicado, con el importe convertido a currency con la tabla fx.
+     * Sin moneda, o con la de la tarifa, el importe no se convierte.
+     */
+    public EncodedPrice get(CompactPrice price, FxRates fx, String currency, Format format) {
+        String target = currency == null || currency.equals(price.currency()) ? null : currency;
+        if (target == null && format == Format.JSON) {
+            return get(price);
+        }
+        if (target != null && (!fx.supports(price.currency()) || !fx.supports(target))) {
+            throw new UnsupportedCurrencyException(price.currency(), target);
+        }
+        if (cache == null) {
+            return encode(price, fx, target, format);
+        }
+        EncodedKey key = new EncodedKey(price, target, target == null ? 0 : fx.version(), format);
+        return cache.get(key, k -> encode(price, fx, target, format));
+    }
+
+    private EncodedPrice encode(CompactPrice price, FxRates fx, String currency, Format format) {
+        PriceResponseDto response = PriceResponseDto.from(price);
+        if (currency != null) {
+            response = response.withPrice(fx.convert(price.price(), price.currency(), currency), currency);
+        }
+        byte[] body = format == Format.BINARY ? PriceBinaryCodec.encode(response) : json(response);
+        return new EncodedPrice(body, "\"" + price.id() + "-" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    private byte[] json(PriceResponseDto response) {
+        try {
+            return writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de precio", e);
+        }
+    }
+
+    /**
+     * Recorre las entradas cacheadas: el coste es lineal en el tamaño de la caché, acotado por maximum-size.
+     */
+    @EventListener
+    public void onPricesChanged(PricesChangedEvent event) {
+        if (cache != null) {
+            Set<PriceKey> keys = event.keys();
+            cache.asMap().keySet().removeIf(key -> {
+                CompactPrice price = key instanceof EncodedKey encoded ? encoded.price() : (CompactPrice) key;
+                return keys.contains(new PriceKey(price.brandId(), price.productId()));
+            });
+        }
+    }
+
+    @EventListener
+    public void onPricesReloaded(PricesReloadedEvent event) {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
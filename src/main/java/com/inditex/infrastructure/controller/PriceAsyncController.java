@@ -0,0 +1,76 @@
+package com.inditex.infrastructure.controller;
+
+import com.inditex.application.usecase.GetApplicablePriceUseCase;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.async.PriceLookupOverloadedException;
+import com.inditex.infrastructure.async.PriceLookupPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/prices")
+public class PriceAsyncController {
+
+    private final GetApplicablePriceUseCase useCase;
+    private final PriceResponseFactory responses;
+    private final PriceLookupPool pool;
+    private final Counter rejected;
+
+    public PriceAsyncController(GetApplicablePriceUseCase useCase,
+                                PriceResponseFactory responses,
+                                PriceLookupPool priceLookupPool,
+                                MeterRegistry meterRegistry) {
+        this.useCase = useCase;
+        this.responses = responses;
+        this.pool = priceLookupPool;
+        this.rejected = Counter.builder("pricing.async.rejected")
+                .description("Consultas asíncronas rechazadas por cola de admisión llena")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Variante asíncrona de GET /api/prices con admisión acotada.
+     *
+     * Endpoint: GET /api/prices/async
+     * Parámetros y cabeceras de respuesta: los mismos que GET /api/prices.
+     *
+     * No es E/S no bloqueante: la consulta sigue siendo JDBC bloqueante, solo se traslada del hilo
+     * del contenedor al pool priceLookup. El hilo del contenedor se libera en cuanto la consulta
+     * entra en la cola y la respuesta se completa desde el pool. Si la cola está llena se responde
+     * 503 con Retry-After sin esperar, y si la consulta pasa en cola más de
+     * pricing.async.queue-timeout también, de modo que un pico degrada a rechazos rápidos en
+     * lugar de esperas sin límite. Con el repositorio en memoria o la caché caliente la
+     * resolución no hace E/S y los hilos del pool no se bloquean.
+     */
+    @GetMapping("/async")
+    public CompletableFuture<ResponseEntity<byte[]>> getPrice(
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam("productId") Long productId,
+            @RequestParam("brandId") Long brandId,
+            @RequestParam(value = "currency", required = false) String currency,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        boolean binary = PriceResponseFactory.acceptsBinary(accept);
+        long epochSecond = PriceTimeline.toEpochSecond(date);
+        try {
+            return pool.supplyAsync(
+                    () -> responses.ok(useCase.executeVersioned(productId, brandId, epochSecond, responses.needsSegmentEnd()), currency, binary));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PriceLookupOverloadedException(pool.queueCapacity());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.inditex.infrastructure.controller;
+
+import com.inditex.application.usecase.ApplyPriceChangesUseCase;
+import com.inditex.domain.model.PriceChange;
+import com.inditex.infrastructure.controller.dto.PriceChangeDto;
+import com.inditex.infrastructure.controller.dto.PriceChangesRequestDto;
+import com.inditex.infrastructure.controller.dto.PriceChangesResponseDto;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/prices")
+public class PriceChangeController {
+
+    private final ApplyPriceChangesUseCase useCase;
+
+    public PriceChangeController(ApplyPriceChangesUseCase useCase) {
+        this.useCase = useCase;
+    }
+
+    /**
+     * Ingesta incremental de cambios de tarifas.
+     *
+     * Endpoint: POST /api/prices/changes
+     * Cuerpo: { "sourceTimestamp": "ISO-8601 (opcional)", "changes": [ { "operation": "INSERT|UPDATE|DELETE", ... } ] }
+     *
+     * Aplica el lote de forma atómica y actualiza solo los grupos (brandId, productId) afectados
+     * en las estructuras derivadas. Si alguna fila de UPDATE o DELETE no existe, no se aplica
+     * nada y se responde 404. Con pricing.repository.type=snapshot responde 409 sin escribir.
+     */
+    @PostMapping("/changes")
+    public ResponseEntity<PriceChangesResponseDto> applyChanges(@Valid @RequestBody PriceChangesRequestDto request) {
+        List<PriceChange> changes = request.changes().stream().map(PriceChangeDto::toChange).toList();
+
+        return ResponseEntity.ok(PriceChangesResponseDto.from(useCase.execute(changes, request.sourceTimestamp())));
+    }
+}
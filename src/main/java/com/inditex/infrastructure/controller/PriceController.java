@@ -1,22 +1,50 @@
 package com.inditex.infrastructure.controller;
 
+import com.inditex.application.metrics.PriceMetrics;
 import com.inditex.application.usecase.GetApplicablePriceUseCase;
+import com.inditex.application.usecase.GetApplicablePricesUseCase;
+import com.inditex.application.usecase.GetPriceTimelineUseCase;
+import com.inditex.application.usecase.VersionedPrice;
 import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.controller.dto.PriceBatchRequestDto;
+import com.inditex.infrastructure.controller.dto.PriceBatchResultDto;
+import com.inditex.infrastructure.controller.dto.PriceInstantsRequestDto;
+import com.inditex.infrastructure.controller.dto.PriceQueryDto;
 import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import com.inditex.infrastructure.controller.dto.PriceSegmentDto;
+import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/prices")
 public class PriceController {
 
     private final GetApplicablePriceUseCase useCase;
+    private final GetApplicablePricesUseCase batchUseCase;
+    private final GetPriceTimelineUseCase timelineUseCase;
+    private final PriceResponseFactory responses;
+    private final PriceMetrics metrics;
 
-    public PriceController(GetApplicablePriceUseCase useCase) {
+    public PriceController(GetApplicablePriceUseCase useCase,
+                           GetApplicablePricesUseCase batchUseCase,
+                           GetPriceTimelineUseCase timelineUseCase,
+                           PriceResponseFactory responses,
+                           PriceMetrics metrics) {
         this.useCase = useCase;
+        this.batchUseCase = batchUseCase;
+        this.timelineUseCase = timelineUseCase;
+        this.responses = responses;
+        this.metrics = metrics;
     }
 
     /**
@@ -24,30 +52,121 @@ public class PriceController {
      *
      * Endpoint: GET /api/prices
      * Parámetros:
-     *  - date: fecha y hora de aplicación del precio (ISO-8601)
+     *  - date: fecha y hora de aplicación del precio (ISO-8601), con resolución de segundo: las
+     *    fracciones se descartan (ver PriceTimeline.toEpochSecond)
      *  - productId: identificador del producto
      *  - brandId: identificador de la cadena/marca
+     *  - currency (opcional): moneda ISO 4217 en la que devolver el importe; se convierte con la
+     *    tabla de cambio en memoria y una moneda sin tipo de cambio responde 400
+     *
+     * Con Accept: application/vnd.pricing.price+binary la respuesta va en el formato binario
+     * compacto de PriceBinaryCodec (unos 20 bytes, sin Jackson); si no, en JSON.
      *
      * Devuelve el precio que aplica basado en prioridad, fecha y coincidencia de producto/marca.
+     * La cabecera X-Price-Snapshot-Version indica la versión de los datos que lo resolvió, para
+     * comparar respuestas entre nodos; se omite si el repositorio no versiona sus datos (JPA).
+     *
+     * El cuerpo JSON sale ya serializado de PriceResponseBodyCache y se escribe tal cual. Lleva
+     * ETag (con If-None-Match coincidente se responde 304 sin cuerpo) y Cache-Control hasta el
+     * fin del tramo de precio; ver PriceResponseFactory.
      */
     @GetMapping
-    public ResponseEntity<PriceResponseDto> getPrice(
+    public ResponseEntity<byte[]> getPrice(
             @RequestParam("date")
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
             @RequestParam("productId") Long productId,
-            @RequestParam("brandId") Long brandId
+            @RequestParam("brandId") Long brandId,
+            @RequestParam(value = "currency", required = false) String currency,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
-        Price price = useCase.execute(productId, brandId, date);
-
-        PriceResponseDto response = new PriceResponseDto(
-                price.getProductId(),
-                price.getBrandId(),
-                price.getPriceList(),
-                price.getStartDate(),
-                price.getEndDate(),
-                price.getPrice(),
-                price.getCurr()
-        );
+        long start = System.nanoTime();
+        try {
+            VersionedPrice price = useCase.executeVersioned(productId, brandId, PriceTimeline.toEpochSecond(date),
+                    responses.needsSegmentEnd());
+
+            return responses.ok(price, currency, PriceResponseFactory.acceptsBinary(accept));
+        } finally {
+            metrics.recordLatency(PriceMetrics.Layer.CONTROLLER, start);
+        }
+    }
+
+    /**
+     * Consulta por lotes del precio aplicable, pensada para evaluar un carrito o una página de catálogo
+     * en una sola petición.
+     *
+     * Endpoint: POST /api/prices/batch
+     * Cuerpo: { "items": [ { "productId": ..., "brandId": ..., "date": "ISO-8601" }, ... ] }
+     *
+     * Devuelve un resultado por línea, en el mismo orden de la petición. Las líneas sin precio
+     * aplicable se marcan con found=false en lugar de responder 404.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PriceBatchResultDto>> getPrices(@Valid @RequestBody PriceBatchRequestDto request) {
+        List<PriceQueryDto> items = request.items();
+        List<Optional<Price>> prices = batchUseCase.execute(items.stream().map(PriceQueryDto::toQuery).toList());
+
+        List<PriceBatchResultDto> response = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            PriceQueryDto item = items.get(i);
+            PriceResponseDto price = prices.get(i).map(PriceResponseDto::from).orElse(null);
+            response.add(new PriceBatchResultDto(item.productId(), item.brandId(), item.date(), price != null, price));
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Exporta la línea temporal de precio efectivo de un producto y marca para inspección.
+     *
+     * Endpoint: GET /api/prices/timeline
+     * Parámetros:
+     *  - productId: identificador del producto
+     *  - brandId: identificador de la cadena/marca
+     *  - from, to (opcionales, ISO-8601): rango a devolver; los tramos se recortan a él. Con from
+     *    posterior a to responde 400
+     *
+     * Devuelve los tramos sin solapes, ordenados por fecha, con la tarifa que gana en cada uno.
+     * Se calculan en una sola pasada sobre las tarifas del producto, en lugar de consultar
+     * GET /api/prices instante a instante para dibujar la evolución del precio.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<List<PriceSegmentDto>> getTimeline(
+            @RequestParam("productId") Long productId,
+            @RequestParam("brandId") Long brandId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        List<PriceSegment> segments = from == null && to == null
+                ? timelineUseCase.execute(productId, brandId).segments()
+                : timelineUseCase.execute(productId, brandId,
+                        from != null ? from : LocalDateTime.MIN,
+                        to != null ? to : LocalDateTime.MAX);
+
+        return ResponseEntity.ok(segments.stream().map(PriceSegmentDto::from).toList());
+    }
+
+    /**
+     * Precio aplicable de un producto y marca en varios instantes.
+     *
+     * Endpoint: POST /api/prices/instants
+     * Cuerpo: { "productId": ..., "brandId": ..., "dates": [ "ISO-8601", ... ] }
+     *
+     * Resuelve todos los instantes con un único recorrido de la línea temporal del producto.
+     * Devuelve un resultado por instante, en el orden de la petición, con found=false en los
+     * instantes sin precio aplicable.
+     */
+    @PostMapping("/instants")
+    public ResponseEntity<List<PriceBatchResultDto>> getPricesAt(@Valid @RequestBody PriceInstantsRequestDto request) {
+        List<LocalDateTime> dates = request.dates();
+        List<Optional<Price>> prices = timelineUseCase.executeAt(request.productId(), request.brandId(), dates);
+
+        List<PriceBatchResultDto> response = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            PriceResponseDto price = prices.get(i).map(PriceResponseDto::from).orElse(null);
+            response.add(new PriceBatchResultDto(request.productId(), request.brandId(), dates.get(i), price != null, price));
+        }
 
         return ResponseEntity.ok(response);
     }
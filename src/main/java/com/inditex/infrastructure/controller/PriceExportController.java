@@ -0,0 +1,77 @@
+package com.inditex.infrastructure.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inditex.application.usecase.ExportApplicablePricesUseCase;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/prices")
+public class PriceExportController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Cada cuántas líneas se vacía el buffer de salida. La primera línea se envía siempre
+     * en cuanto está lista.
+     */
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ExportApplicablePricesUseCase useCase;
+    private final ObjectWriter writer;
+
+    public PriceExportController(ExportApplicablePricesUseCase useCase, ObjectMapper objectMapper) {
+        this.useCase = useCase;
+        this.writer = objectMapper.writerFor(PriceResponseDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Exporta en streaming el precio aplicable de cada producto de una marca en un instante dado.
+     *
+     * Endpoint: GET /api/prices/export
+     * Parámetros:
+     *  - date: fecha y hora de aplicación del precio (ISO-8601)
+     *  - brandId: identificador de la cadena/marca
+     *
+     * Devuelve NDJSON (un PriceResponseDto por línea, ordenado por producto). Las líneas se escriben
+     * según se leen de la base de datos, por lo que la memoria no crece con el tamaño de la marca.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam("date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+            @RequestParam("brandId") Long brandId
+    ) {
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            useCase.execute(brandId, date, price -> {
+                try {
+                    writer.writeValue(out, PriceResponseDto.from(price));
+                    out.write('\n');
+                    if (++written[0] == 1 || written[0] % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
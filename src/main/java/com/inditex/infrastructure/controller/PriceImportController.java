@@ -0,0 +1,39 @@
+package com.inditex.infrastructure.controller;
+
+import com.inditex.application.usecase.ImportPricesUseCase;
+import com.inditex.infrastructure.controller.dto.PriceImportResponseDto;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/prices")
+public class PriceImportController {
+
+    private final ImportPricesUseCase useCase;
+
+    public PriceImportController(ImportPricesUseCase useCase) {
+        this.useCase = useCase;
+    }
+
+    /**
+     * Importación masiva de tarifas desde CSV.
+     *
+     * Endpoint: POST /api/prices/import (Content-Type: text/csv)
+     * Cuerpo: cabecera BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR y una fila por tarifa.
+     *
+     * El cuerpo se lee en streaming desde la petición, sin cargarlo entero en memoria. Las filas
+     * inválidas se descartan y se devuelven en el informe junto con el rendimiento (filas/s).
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<PriceImportResponseDto> importPrices(HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(PriceImportResponseDto.from(useCase.execute(body)));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.inditex.infrastructure.controller;
+
+import com.inditex.application.usecase.VersionedPrice;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.cache.PriceResponseBodyCache;
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import com.inditex.infrastructure.fx.FxRateTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Construye las respuestas HTTP de GET /api/prices y GET /api/prices/async.
+ *
+ * - Cuerpo ya serializado desde PriceResponseBodyCache: JSON, o binario (PriceBinaryCodec) si el
+ *   cliente lo pide en Accept. Con moneda, el importe se convierte con la tabla de cambio vigente
+ *   en FxRateTable, sin E/S. Vary: Accept para que las cachés intermedias separen ambos formatos.
+ * - ETag fuerte con el id de la tarifa y un resumen de su contenido. Spring responde 304 sin
+ *   cuerpo cuando coincide con If-None-Match.
+ * - Cache-Control public con max-age hasta el fin del tramo de precio, si el tramo sigue vigente
+ *   ahora, y nunca mayor que pricing.http.max-age, que acota cuánto puede tardar una caché
+ *   intermedia en ver un cambio de tarifas. Con pricing.http.max-age=0 se envía no-cache y no
+ *   se calcula el fin de tramo.
+ */
+@Component
+public class PriceResponseFactory {
+
+    /**
+     * Cabecera con la versión del snapshot de datos que resolvió la consulta. Se omite si no se
+     * conoce (versión 0, repositorio sin snapshots versionados).
+     */
+    public static final String SNAPSHOT_VERSION_HEADER = "X-Price-Snapshot-Version";
+
+    private final PriceResponseBodyCache responseBodies;
+    private final FxRateTable fxRates;
+    private final long maxAgeSeconds;
+
+    public PriceResponseFactory(PriceResponseBodyCache responseBodies,
+                                FxRateTable fxRates,
+                                @Value("${pricing.http.max-age:60s}") Duration maxAge) {
+        this.responseBodies = responseBodies;
+        this.fxRates = fxRates;
+        this.maxAgeSeconds = maxAge.toSeconds();
+    }
+
+    /**
+     * Si hace falta el fin de tramo de cada consulta para calcular max-age.
+     */
+    public boolean needsSegmentEnd() {
+        return maxAgeSeconds > 0;
+    }
+
+    /**
+     * Si la cabecera Accept pide expresamente el formato binario: lo nombra con q &gt; 0 y con una
+     * calidad no menor que la que da a JSON (directamente o con comodines). Un Accept con solo
+     * comodines, sin cabecera o mal formado sigue recibiendo JSON, así que los clientes existentes
+     * no cambian.
+     */
+    public static boolean acceptsBinary(String accept) {
+        if (accept == null || !accept.contains(PriceBinaryCodec.MEDIA_TYPE_VALUE)) {
+            return false;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        double binary = 0;
+        double json = 0;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            if (mediaType.equalsTypeAndSubtype(PriceBinaryCodec.MEDIA_TYPE)) {
+                binary = Math.max(binary, quality);
+            } else if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, quality);
+            }
+        }
+        return binary > 0 && binary >= json;
+    }
+
+    public ResponseEntity<byte[]> ok(VersionedPrice price) {
+        return ok(price, null, false);
+    }
+
+    /**
+     * Respuesta con el importe en currency (null: en la moneda de la tarifa), en binario o JSON.
+     */
+    public ResponseEntity<byte[]> ok(VersionedPrice price, String currency, boolean binary) {
+        PriceResponseBodyCache.Format format = binary ? PriceResponseBodyCache.Format.BINARY : PriceResponseBodyCache.Format.JSON;
+        PriceResponseBodyCache.EncodedPrice encoded = responseBodies.get(price.price(), fxRates.current(), currency, format);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(binary ? PriceBinaryCodec.MEDIA_TYPE : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(encoded.etag())
+                .cacheControl(cacheControl(price.segmentEndEpochSecond()));
+        if (price.snapshotVersion() > 0) {
+            response.header(SNAPSHOT_VERSION_HEADER, Long.toString(price.snapshotVersion()));
+        }
+        return response.body(encoded.body());
+    }
+
+    /**
+     * Un tramo ya terminado no cambia con el paso del tiempo, solo si cambian las tarifas, así que
+     * se cachea hasta el tope. Uno vigente deja de ser válido en cuanto termina.
+     */
+    private CacheControl cacheControl(long segmentEnd) {
+        if (maxAgeSeconds <= 0 || segmentEnd < 0) {
+            return CacheControl.noCache();
+        }
+        long now = PriceTimeline.toEpochSecond(LocalDateTime.now());
+        long untilSegmentEnd = segmentEnd + 1 - now;
+        long maxAge = untilSegmentEnd > 0 ? Math.min(maxAgeSeconds, untilSegmentEnd) : maxAgeSeconds;
+        return CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic();
+    }
+}
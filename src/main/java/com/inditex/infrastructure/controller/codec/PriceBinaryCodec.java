@@ -0,0 +1,165 @@
+package com.inditex.infrastructure.controller.codec;
+
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Currency;
+
+/**
+ * Codificación binaria compacta de PriceResponseDto para llamadas entre servicios, sin Jackson.
+ *
+ * Formato (versión 1), todos los enteros como varint con zigzag (7 bits por byte, el bit alto
+ * indica que sigue otro byte):
+ *
+ * <pre>
+ *   versión      1 byte (= 1)
+ *   productId    varint
+ *   brandId      varint
+ *   priceList    varint
+ *   startDate    varint, segundos epoch UTC
+ *   endDate      varint, segundos desde startDate
+ *   precio       varint, importe sin escala (2545 para 25.45)
+ *   escala       1 byte (2 para 25.45; 0 para JPY; 3 para KWD), entre 0 y 18
+ *   moneda       3 bytes ASCII (ISO 4217)
+ * </pre>
+ *
+ * Antes de codificar, el importe se lleva a los decimales de su moneda (un importe convertido con
+ * stripTrailingZeros puede traer escala negativa); si tiene más decimales, se conservan. Lo que
+ * aun así no cabe en el formato se rechaza con PriceNotEncodableException.
+ *
+ * Una respuesta típica ocupa unos 20 bytes frente a los ~170 del JSON.
+ */
+public final class PriceBinaryCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.pricing.price+binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte VERSION = 1;
+    private static final int CURRENCY_LENGTH = 3;
+    private static final int MAX_SCALE = 18;
+    // versión + 6 varints de hasta 10 bytes + escala + moneda
+    private static final int MAX_LENGTH = 1 + 6 * 10 + 1 + CURRENCY_LENGTH;
+
+    private PriceBinaryCodec() {
+    }
+
+    public static byte[] encode(PriceResponseDto price) {
+        long start = PriceTimeline.toEpochSecond(price.startDate());
+        byte[] currency = price.currency().getBytes(StandardCharsets.US_ASCII);
+        if (currency.length != CURRENCY_LENGTH) {
+            throw new PriceNotEncodableException("Moneda no ISO 4217: " + price.currency());
+        }
+        BigDecimal amount = normalize(price.price(), price.currency());
+        long unscaled;
+        try {
+            unscaled = amount.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new PriceNotEncodableException("Importe fuera de rango para el formato binario: " + price.price());
+        }
+
+        byte[] buffer = new byte[MAX_LENGTH];
+        int position = 0;
+        buffer[position++] = VERSION;
+        position = writeVarLong(buffer, position, price.productId());
+        position = writeVarLong(buffer, position, price.brandId());
+        position = writeVarLong(buffer, position, price.priceList());
+        position = writeVarLong(buffer, position, start);
+        position = writeVarLong(buffer, position, PriceTimeline.toEpochSecond(price.endDate()) - start);
+        position = writeVarLong(buffer, position, unscaled);
+        buffer[position++] = (byte) amount.scale();
+        System.arraycopy(currency, 0, buffer, position, CURRENCY_LENGTH);
+        return Arrays.copyOf(buffer, position + CURRENCY_LENGTH);
+    }
+
+    public static PriceResponseDto decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de formato binario no soportada: " + version);
+        }
+        long productId = reader.readVarLong();
+        long brandId = reader.readVarLong();
+        long priceList = reader.readVarLong();
+        long start = reader.readVarLong();
+        long end = start + reader.readVarLong();
+        long unscaled = reader.readVarLong();
+        int scale = reader.readByte();
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Escala fuera de rango en la respuesta binaria: " + scale);
+        }
+        String currency = reader.readAscii(CURRENCY_LENGTH);
+        return new PriceResponseDto(productId, brandId, priceList,
+                PriceTimeline.toDateTime(start), PriceTimeline.toDateTime(end),
+                BigDecimal.valueOf(unscaled, scale), currency);
+    }
+
+    /**
+     * Importe con los decimales de la moneda, o con los que necesite si tiene más.
+     */
+    private static BigDecimal normalize(BigDecimal amount, String currency) {
+        int fractionDigits;
+        try {
+            fractionDigits = Currency.getInstance(currency).getDefaultFractionDigits();
+        } catch (IllegalArgumentException e) {
+            throw new PriceNotEncodableException("Moneda no ISO 4217: " + currency);
+        }
+        // Las monedas sin decimales definidos (XAU...) devuelven -1
+        int scale = Math.max(Math.max(fractionDigits, 0), amount.stripTrailingZeros().scale());
+        if (scale > MAX_SCALE) {
+            throw new PriceNotEncodableException("Escala " + scale + " fuera de 0.." + MAX_SCALE + " para " + amount + " " + currency);
+        }
+        return amount.setScale(scale);
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+        return position;
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Respuesta binaria truncada");
+            }
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Varint demasiado largo");
+        }
+
+        String readAscii(int length) {
+            if (position + length > bytes.length) {
+                throw new IllegalArgumentException("Respuesta binaria truncada");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.US_ASCII);
+            position += length;
+            return value;
+        }
+    }
+}
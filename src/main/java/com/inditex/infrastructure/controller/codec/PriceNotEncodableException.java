@@ -0,0 +1,11 @@
+package com.inditex.infrastructure.controller.codec;
+
+/**
+ * La tarifa no cabe en el formato binario (moneda no ISO 4217, escala fuera de 0..18 o importe
+ * sin escala fuera de un long). Se traduce a 406: el cliente puede pedirla en JSON.
+ */
+public class PriceNotEncodableException extends IllegalArgumentException {
+    public PriceNotEncodableException(String message) {
+        super(message);
+    }
+}
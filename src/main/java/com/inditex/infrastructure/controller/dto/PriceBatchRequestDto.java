@@ -0,0 +1,19 @@
+package com.inditex.infrastructure.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO de la petición del endpoint de precios por lotes.
+ */
+public record PriceBatchRequestDto(
+        @NotEmpty(message = "items no puede estar vacío")
+        @Size(max = PriceBatchRequestDto.MAX_ITEMS, message = "items admite como máximo " + PriceBatchRequestDto.MAX_ITEMS + " consultas")
+        List<@Valid @NotNull(message = "items no admite elementos nulos") PriceQueryDto> items
+) {
+    public static final int MAX_ITEMS = 500;
+}
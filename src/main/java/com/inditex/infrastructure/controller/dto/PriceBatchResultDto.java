@@ -0,0 +1,16 @@
+package com.inditex.infrastructure.controller.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una línea de la respuesta por lotes.
+ * Si no hay precio aplicable, found es false y price es null.
+ */
+public record PriceBatchResultDto(
+        Long productId,
+        Long brandId,
+        LocalDateTime date,
+        boolean found,
+        PriceResponseDto price
+) {
+}
@@ -0,0 +1,58 @@
+package com.inditex.infrastructure.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceChange;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * DTO de un cambio del feed de ingesta. INSERT lleva todos los campos salvo id, UPDATE todos
+ * y DELETE solo el id.
+ */
+public record PriceChangeDto(
+        @NotNull(message = "operation es obligatorio") PriceChange.Operation operation,
+        Long id,
+        Long brandId,
+        Long productId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long priceList,
+        Integer priority,
+        BigDecimal price,
+        String curr
+) {
+    @JsonIgnore
+    @AssertTrue(message = "INSERT requiere todos los campos sin id, UPDATE todos los campos y DELETE solo id")
+    public boolean isConsistent() {
+        if (operation == null) {
+            return true;
+        }
+        boolean complete = Stream.of(brandId, productId, startDate, endDate, priceList, priority, price, curr)
+                .allMatch(value -> value != null);
+        return switch (operation) {
+            case INSERT -> id == null && complete;
+            case UPDATE -> id != null && complete;
+            case DELETE -> id != null;
+        };
+    }
+
+    public PriceChange toChange() {
+        Price row = Price.builder()
+                .id(id)
+                .brandId(brandId)
+                .productId(productId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .priceList(priceList)
+                .priority(priority)
+                .price(price)
+                .curr(curr)
+                .build();
+        return new PriceChange(operation, row);
+    }
+}
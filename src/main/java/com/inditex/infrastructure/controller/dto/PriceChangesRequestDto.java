@@ -0,0 +1,22 @@
+package com.inditex.infrastructure.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO de un lote del feed de ingesta. sourceTimestamp es opcional y sirve para medir el retraso
+ * desde el origen del cambio hasta su visibilidad.
+ */
+public record PriceChangesRequestDto(
+        Instant sourceTimestamp,
+        @NotEmpty(message = "changes no puede estar vacío")
+        @Size(max = PriceChangesRequestDto.MAX_CHANGES, message = "changes admite como máximo " + PriceChangesRequestDto.MAX_CHANGES + " cambios")
+        List<@Valid @NotNull(message = "changes no admite elementos nulos") PriceChangeDto> changes
+) {
+    public static final int MAX_CHANGES = 1000;
+}
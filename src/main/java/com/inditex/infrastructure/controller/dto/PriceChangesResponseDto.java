@@ -0,0 +1,13 @@
+package com.inditex.infrastructure.controller.dto;
+
+import com.inditex.application.usecase.AppliedPriceChanges;
+
+/**
+ * DTO de respuesta del feed de ingesta.
+ */
+public record PriceChangesResponseDto(int applied, int groups, long visibilityLagMillis) {
+
+    public static PriceChangesResponseDto from(AppliedPriceChanges result) {
+        return new PriceChangesResponseDto(result.changes(), result.groups(), result.visibilityLag().toMillis());
+    }
+}
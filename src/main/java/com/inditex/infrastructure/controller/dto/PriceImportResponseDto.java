@@ -0,0 +1,21 @@
+package com.inditex.infrastructure.controller.dto;
+
+import com.inditex.application.ingest.PriceImportReport;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de la importación masiva.
+ */
+public record PriceImportResponseDto(long read,
+                                     long imported,
+                                     long rejected,
+                                     List<PriceImportReport.RejectedRow> errors,
+                                     long elapsedMillis,
+                                     long rowsPerSecond) {
+
+    public static PriceImportResponseDto from(PriceImportReport report) {
+        return new PriceImportResponseDto(report.read(), report.imported(), report.rejected(), report.errors(),
+                report.elapsed().toMillis(), Math.round(report.rowsPerSecond()));
+    }
+}
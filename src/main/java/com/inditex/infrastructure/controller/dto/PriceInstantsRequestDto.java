@@ -0,0 +1,21 @@
+package com.inditex.infrastructure.controller.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de la petición de precios de un producto en varios instantes.
+ */
+public record PriceInstantsRequestDto(
+        @NotNull(message = "productId es obligatorio") Long productId,
+        @NotNull(message = "brandId es obligatorio") Long brandId,
+        @NotEmpty(message = "dates no puede estar vacío")
+        @Size(max = PriceInstantsRequestDto.MAX_DATES, message = "dates admite como máximo " + PriceInstantsRequestDto.MAX_DATES + " instantes")
+        List<@NotNull(message = "dates no admite elementos nulos") LocalDateTime> dates
+) {
+    public static final int MAX_DATES = 1000;
+}
@@ -0,0 +1,19 @@
+package com.inditex.infrastructure.controller.dto;
+
+import com.inditex.domain.model.PriceQuery;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una línea de la consulta por lotes.
+ */
+public record PriceQueryDto(
+        @NotNull(message = "productId es obligatorio") Long productId,
+        @NotNull(message = "brandId es obligatorio") Long brandId,
+        @NotNull(message = "date es obligatorio") LocalDateTime date
+) {
+    public PriceQuery toQuery() {
+        return new PriceQuery(productId, brandId, date);
+    }
+}
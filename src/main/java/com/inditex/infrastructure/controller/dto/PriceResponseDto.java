@@ -1,5 +1,8 @@
 package com.inditex.infrastructure.controller.dto;
 
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -16,6 +19,37 @@ public record PriceResponseDto(
         BigDecimal price,
         String currency
 ) {
+    public static PriceResponseDto from(Price price) {
+        return new PriceResponseDto(
+                price.getProductId(),
+                price.getBrandId(),
+                price.getPriceList(),
+                price.getStartDate(),
+                price.getEndDate(),
+                price.getPrice(),
+                price.getCurr()
+        );
+    }
+
+    public static PriceResponseDto from(CompactPrice price) {
+        return new PriceResponseDto(
+                price.productId(),
+                price.brandId(),
+                price.priceList(),
+                price.startDate(),
+                price.endDate(),
+                price.price(),
+                price.currency()
+        );
+    }
+
+    /**
+     * La misma respuesta con el importe expresado en otra moneda.
+     */
+    public PriceResponseDto withPrice(BigDecimal price, String currency) {
+        return new PriceResponseDto(productId, brandId, priceList, startDate, endDate, price, currency);
+    }
+
     @Override
     public String toString() {
         return "PriceResponseDto{" +
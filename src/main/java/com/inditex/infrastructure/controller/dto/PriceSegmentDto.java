@@ -0,0 +1,35 @@
+package com.inditex.infrastructure.controller.dto;
+
+import com.inditex.domain.model.PriceSegment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO que representa un tramo de la línea temporal de precio efectivo.
+ * startDate y endDate delimitan el tramo (ambas inclusivas); priceStartDate y priceEndDate son la
+ * vigencia completa de la tarifa ganadora, con la que otro nodo puede reconstruir la línea temporal.
+ */
+public record PriceSegmentDto(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long priceList,
+        Integer priority,
+        BigDecimal price,
+        String currency,
+        LocalDateTime priceStartDate,
+        LocalDateTime priceEndDate
+) {
+    public static PriceSegmentDto from(PriceSegment segment) {
+        return new PriceSegmentDto(
+                segment.startDate(),
+                segment.endDate(),
+                segment.price().getPriceList(),
+                segment.price().getPriority(),
+                segment.price().getPrice(),
+                segment.price().getCurr(),
+                segment.price().getStartDate(),
+                segment.price().getEndDate()
+        );
+    }
+}
@@ -1,6 +1,15 @@
 package com.inditex.infrastructure.controller.exception;
 
+import com.inditex.domain.exception.InvalidDateRangeException;
+import com.inditex.domain.exception.InvalidPriceException;
+import com.inditex.domain.exception.InvalidPriceFileException;
 import com.inditex.domain.exception.PriceNotFoundException;
+import com.inditex.domain.exception.ReadOnlyPricesException;
+import com.inditex.domain.exception.UnknownPriceException;
+import com.inditex.domain.exception.UnsupportedCurrencyException;
+import com.inditex.infrastructure.async.PriceLookupOverloadedException;
+import com.inditex.infrastructure.controller.codec.PriceNotEncodableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -31,6 +40,105 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    /**
+     * El feed de ingesta modifica o borra una tarifa que no existe.
+     */
+    @ExceptionHandler(UnknownPriceException.class)
+    public ResponseEntity<Map<String, Object>> handleUnknownPrice(UnknownPriceException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.NOT_FOUND.value()
+        ));
+    }
+
+    /**
+     * Fichero de importación sin la cabecera esperada: no se ha importado ninguna fila.
+     */
+    @ExceptionHandler(InvalidPriceFileException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPriceFile(InvalidPriceFileException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.BAD_REQUEST.value()
+        ));
+    }
+
+    /**
+     * Tarifa que no cumple PriceConstraints en el feed de cambios: no se ha aplicado el lote.
+     */
+    @ExceptionHandler(InvalidPriceException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPrice(InvalidPriceException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.BAD_REQUEST.value()
+        ));
+    }
+
+    /**
+     * Rango de fechas con from posterior a to.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidDateRange(InvalidDateRangeException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.BAD_REQUEST.value()
+        ));
+    }
+
+    /**
+     * Escritura de tarifas con las consultas servidas desde un snapshot de solo lectura.
+     */
+    @ExceptionHandler(ReadOnlyPricesException.class)
+    public ResponseEntity<Map<String, Object>> handleReadOnlyPrices(ReadOnlyPricesException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.CONFLICT.value()
+        ));
+    }
+
+    /**
+     * Moneda de destino sin tipo de cambio en la tabla vigente.
+     */
+    @ExceptionHandler(UnsupportedCurrencyException.class)
+    public ResponseEntity<Map<String, Object>> handleUnsupportedCurrency(UnsupportedCurrencyException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.BAD_REQUEST.value()
+        ));
+    }
+
+    /**
+     * Tarifa que no cabe en el formato binario pedido con Accept; en JSON sí se puede servir.
+     */
+    @ExceptionHandler(PriceNotEncodableException.class)
+    public ResponseEntity<Map<String, Object>> handleNotEncodable(PriceNotEncodableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(Map.of(
+                "timestamp", LocalDateTime.now(),
+                "message", ex.getMessage(),
+                "code", HttpStatus.NOT_ACCEPTABLE.value()
+        ));
+    }
+
+    /**
+     * Cola de admisión llena en el endpoint asíncrono: se rechaza sin esperar y se indica
+     * al cliente cuándo reintentar.
+     */
+    @ExceptionHandler(PriceLookupOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleOverloaded(PriceLookupOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                        "timestamp", LocalDateTime.now(),
+                        "message", ex.getMessage(),
+                        "code", HttpStatus.SERVICE_UNAVAILABLE.value()
+                ));
+    }
+
     /**
      * Parámetro faltante en la solicitud (por ejemplo, falta "productId").
      */
@@ -0,0 +1,35 @@
+package com.inditex.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Con pricing.threads.virtual=true envuelve el pool Hikari en un BoundedDataSource con tantos
+ * permisos como conexiones (spring.datasource.hikari.maximum-pool-size) y el mismo
+ * connection-timeout. Las peticiones ya no están limitadas por los hilos de Tomcat, y así los
+ * hilos virtuales que esperan conexión se aparcan en el Semaphore en lugar de acumularse dentro
+ * del pool o del driver.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.threads", name = "virtual", havingValue = "true")
+@Slf4j
+public class BoundedDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("🚦 Conexiones JDBC concurrentes acotadas a {}", hikari.getMaximumPoolSize());
+                    return new BoundedDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
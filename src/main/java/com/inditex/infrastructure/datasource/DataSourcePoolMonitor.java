@@ -0,0 +1,94 @@
+package com.inditex.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Saturación del pool de conexiones JDBC.
+ *
+ * Hikari ya publica hikaricp.connections.{active,idle,pending,max} y el tiempo de adquisición
+ * hikaricp.connections.acquire (con histograma, ver management.metrics.distribution en
+ * application.yml). Aquí se añade lo que hace falta para alertar:
+ *
+ * - pricing.db.pool.saturation: conexiones activas / máximo del pool (0..1).
+ * - pricing.db.pool.saturated: episodios de saturación, es decir, muestreos en los que el pool
+ *   pasa a tener hilos esperando conexión o un uso igual o superior a saturation-threshold.
+ *
+ * Cada episodio se avisa una sola vez en el log, al empezar, y se da por terminado cuando el pool
+ * vuelve por debajo del umbral sin hilos esperando.
+ *
+ * El pool se obtiene con unwrap, porque el DataSource puede estar envuelto (BoundedDataSource).
+ */
+@Slf4j
+@Component
+public class DataSourcePoolMonitor {
+
+    private final HikariDataSource dataSource;
+    private final double saturationThreshold;
+    private final Counter saturatedEpisodes;
+    private boolean saturated;
+
+    public DataSourcePoolMonitor(DataSource dataSource,
+                                 @Value("${pricing.db.pool.saturation-threshold:0.9}") double saturationThreshold,
+                                 MeterRegistry meterRegistry) throws SQLException {
+        this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        this.saturationThreshold = saturationThreshold;
+        this.saturatedEpisodes = Counter.builder("pricing.db.pool.saturated")
+                .description("Episodios de saturación del pool de conexiones JDBC")
+                .tag("pool", this.dataSource.getPoolName())
+                .register(meterRegistry);
+        Gauge.builder("pricing.db.pool.saturation", this, DataSourcePoolMonitor::saturation)
+                .description("Conexiones activas sobre el máximo del pool JDBC")
+                .tag("pool", this.dataSource.getPoolName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Uso del pool entre 0 y 1. Antes de que Hikari arranque el pool vale 0.
+     */
+    public double saturation() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+
+    /**
+     * Muestrea el pool y abre o cierra el episodio de saturación en curso.
+     */
+    @Scheduled(fixedDelayString = "${pricing.db.pool.monitor-interval-ms:5000}")
+    public synchronized void sample() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        boolean nowSaturated = waiting > 0 || active >= saturationThreshold * dataSource.getMaximumPoolSize();
+        if (nowSaturated && !saturated) {
+            saturatedEpisodes.increment();
+            log.warn("⚠️ Pool JDBC {} saturado: {}/{} conexiones activas, {} hilos esperando",
+                    dataSource.getPoolName(), active, dataSource.getMaximumPoolSize(), waiting);
+        } else if (!nowSaturated && saturated) {
+            log.info("✅ Pool JDBC {} recuperado: {}/{} conexiones activas",
+                    dataSource.getPoolName(), active, dataSource.getMaximumPoolSize());
+        }
+        saturated = nowSaturated;
+    }
+
+    public synchronized boolean isSaturated() {
+        return saturated;
+    }
+}
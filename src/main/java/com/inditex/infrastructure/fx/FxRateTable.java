@@ -0,0 +1,113 @@
+package com.inditex.infrastructure.fx;
+
+import com.inditex.domain.model.FxRates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tipos de cambio en memoria para convertir precios sin E/S por petición.
+ *
+ * Se cargan de pricing.fx.rates (por defecto el fx-rates.csv del classpath): líneas
+ * "CURR,RATE[,DECIMALS]" con # para comentarios y cabecera opcional. Cada carga construye una
+ * FxRates nueva con la versión siguiente y la publica de una vez: quien la está usando termina
+ * con la anterior y nadie ve una tabla a medias.
+ *
+ * Si el recurso es un fichero se comprueba cada pricing.fx.refresh-interval-ms y se recarga al
+ * cambiar su fecha de modificación. Un fichero inválido al arrancar impide arrancar; en una
+ * recarga se registra y se sigue con la tabla anterior.
+ */
+@Slf4j
+@Component
+public class FxRateTable {
+
+    private final Resource source;
+    private final RoundingMode rounding;
+    private final AtomicReference<FxRates> rates = new AtomicReference<>(FxRates.empty());
+    private long loadedModified;
+
+    public FxRateTable(@Value("${pricing.fx.rates:classpath:fx-rates.csv}") Resource source,
+                       @Value("${pricing.fx.rounding:HALF_EVEN}") RoundingMode rounding) {
+        this.source = source;
+        this.rounding = rounding;
+        reload();
+    }
+
+    public FxRates current() {
+        return rates.get();
+    }
+
+    /**
+     * Lee el recurso y publica la tabla con la versión siguiente.
+     */
+    public synchronized FxRates reload() {
+        long start = System.nanoTime();
+        long modified = lastModified();
+        FxRates loaded = new FxRates(rates.get().version() + 1, rounding, read());
+        rates.set(loaded);
+        loadedModified = modified;
+        log.info("💱 Tipos de cambio cargados: versión={}, monedas={}, origen={} en {} ms",
+                loaded.version(), loaded.rates().size(), source.getDescription(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${pricing.fx.refresh-interval-ms:60000}")
+    public synchronized void refreshIfModified() {
+        if (!source.isFile() || lastModified() == loadedModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ No se pudieron recargar los tipos de cambio de {}: {}", source.getDescription(), e.getMessage());
+        }
+    }
+
+    private Map<String, FxRates.Rate> read() {
+        Map<String, FxRates.Rate> read = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("CURR,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                Currency currency = Currency.getInstance(fields[0].trim());
+                BigDecimal rate = new BigDecimal(fields[1].trim());
+                if (rate.signum() <= 0) {
+                    throw new IllegalArgumentException("Tipo de cambio no positivo para " + currency + ": " + rate);
+                }
+                int fractionDigits = fields.length > 2
+                        ? Integer.parseInt(fields[2].trim())
+                        : Math.max(currency.getDefaultFractionDigits(), 0);
+                read.put(currency.getCurrencyCode().intern(), new FxRates.Rate(rate, fractionDigits));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer los tipos de cambio de " + source.getDescription(), e);
+        }
+        return read;
+    }
+
+    private long lastModified() {
+        try {
+            return source.isFile() ? source.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
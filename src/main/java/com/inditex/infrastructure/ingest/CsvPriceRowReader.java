@@ -0,0 +1,118 @@
+package com.inditex.infrastructure.ingest;
+
+import com.inditex.application.ingest.PriceRowReader;
+import com.inditex.domain.exception.InvalidPriceFileException;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceConstraints;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * Lector CSV de tarifas para la importación masiva.
+ *
+ * Cabecera obligatoria con las columnas de PRICES en este orden:
+ * BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+ *
+ * Las fechas admiten "2020-06-14 00:00:00", "2020-06-14T00:00:00" o el formato del enunciado
+ * "2020-06-14-00.00.00". Cada fila se valida con PriceConstraints.
+ * No admite campos entre comillas: ninguna columna puede contener comas.
+ */
+@Component
+public class CsvPriceRowReader implements PriceRowReader {
+
+    static final String HEADER = "BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR";
+
+    private static final int COLUMNS = 8;
+
+    private static final DateTimeFormatter DATE = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd")
+            .optionalStart().appendLiteral(' ').appendPattern("HH:mm:ss").optionalEnd()
+            .optionalStart().appendLiteral('T').appendPattern("HH:mm:ss").optionalEnd()
+            .optionalStart().appendLiteral('-').appendPattern("HH.mm.ss").optionalEnd()
+            .toFormatter();
+
+    @Override
+    public long read(InputStream input, Consumer<Price> rows, RejectedRowHandler rejected) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024)) {
+            String header = reader.readLine();
+            if (header == null || !HEADER.equalsIgnoreCase(header.strip().replace(" ", ""))) {
+                throw new InvalidPriceFileException("Cabecera CSV inválida, se esperaba: " + HEADER);
+            }
+
+            long lineNumber = 1;
+            long read = 0;
+            String[] fields = new String[COLUMNS];
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                read++;
+                String error = split(line, fields);
+                if (error == null) {
+                    error = parse(fields, rows);
+                }
+                if (error != null) {
+                    rejected.reject(lineNumber, error);
+                }
+            }
+            return read;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el CSV de tarifas", e);
+        }
+    }
+
+    private static String split(String line, String[] fields) {
+        int column = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == ',') {
+                if (column == COLUMNS) {
+                    return "Se esperaban " + COLUMNS + " columnas";
+                }
+                fields[column++] = line.substring(start, i).strip();
+                start = i + 1;
+            }
+        }
+        return column == COLUMNS ? null : "Se esperaban " + COLUMNS + " columnas y hay " + column;
+    }
+
+    private static String parse(String[] fields, Consumer<Price> rows) {
+        Price price;
+        try {
+            price = Price.builder()
+                    .brandId(Long.parseLong(fields[0]))
+                    .startDate(LocalDateTime.parse(fields[1], DATE))
+                    .endDate(LocalDateTime.parse(fields[2], DATE))
+                    .priceList(Long.parseLong(fields[3]))
+                    .productId(Long.parseLong(fields[4]))
+                    .priority(Integer.parseInt(fields[5]))
+                    .price(new BigDecimal(fields[6]))
+                    .curr(fields[7])
+                    .build();
+        } catch (NumberFormatException e) {
+            return "Número inválido: " + e.getMessage();
+        } catch (DateTimeParseException e) {
+            return "Fecha inválida: " + e.getParsedString();
+        }
+
+        String violation = PriceConstraints.violation(price);
+        if (violation == null) {
+            rows.accept(price);
+        }
+        return violation;
+    }
+}
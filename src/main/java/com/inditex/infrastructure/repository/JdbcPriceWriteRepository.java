@@ -0,0 +1,127 @@
+package com.inditex.infrastructure.repository;
+
+import com.inditex.domain.exception.UnknownPriceException;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceChange;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.repository.PriceWriteRepository;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escrituras de PRICES con JDBC: los cambios del feed de ingesta y las inserciones en bloque
+ * de la importación masiva. Antes de modificar o borrar una fila lee su clave actual, para que
+ * los grupos de origen también se recalculen.
+ */
+@Repository
+public class JdbcPriceWriteRepository implements PriceWriteRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE PRICES
+            SET BRAND_ID = ?, START_DATE = ?, END_DATE = ?, PRICE_LIST = ?, PRODUCT_ID = ?, PRIORITY = ?, PRICE = ?, CURR = ?
+            WHERE ID = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPriceWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<PriceKey> apply(List<PriceChange> changes) {
+        Set<PriceKey> keys = new HashSet<>();
+        for (PriceChange change : changes) {
+            Price price = change.price();
+            switch (change.operation()) {
+                case INSERT -> {
+                    jdbcTemplate.update(INSERT_SQL, columns(price, null));
+                    keys.add(PriceKey.of(price));
+                }
+                case UPDATE -> {
+                    keys.add(currentKey(price.getId()));
+                    jdbcTemplate.update(UPDATE_SQL, columns(price, price.getId()));
+                    keys.add(PriceKey.of(price));
+                }
+                case DELETE -> {
+                    keys.add(currentKey(price.getId()));
+                    jdbcTemplate.update("DELETE FROM PRICES WHERE ID = ?", price.getId());
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Un único batch JDBC con la sentencia preparada reutilizada para todas las filas.
+     * El id lo genera la base de datos, así que no hay una ida y vuelta por fila como con
+     * GenerationType.IDENTITY en Hibernate.
+     */
+    @Override
+    public int insertAll(List<Price> prices) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Price price = prices.get(i);
+                ps.setLong(1, price.getBrandId());
+                ps.setTimestamp(2, Timestamp.valueOf(price.getStartDate()));
+                ps.setTimestamp(3, Timestamp.valueOf(price.getEndDate()));
+                ps.setLong(4, price.getPriceList());
+                ps.setLong(5, price.getProductId());
+                ps.setInt(6, price.getPriority());
+                ps.setBigDecimal(7, price.getPrice());
+                ps.setString(8, price.getCurr());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return prices.size();
+            }
+        });
+        return prices.size();
+    }
+
+    private PriceKey currentKey(Long id) {
+        List<PriceKey> keys = jdbcTemplate.query(
+                "SELECT BRAND_ID, PRODUCT_ID FROM PRICES WHERE ID = ?",
+                (rs, rowNum) -> new PriceKey(rs.getLong("BRAND_ID"), rs.getLong("PRODUCT_ID")),
+                id);
+        if (keys.isEmpty()) {
+            throw new UnknownPriceException(id);
+        }
+        return keys.get(0);
+    }
+
+    private static Object[] columns(Price price, Long id) {
+        Object[] values = {
+                price.getBrandId(),
+                Timestamp.valueOf(price.getStartDate()),
+                Timestamp.valueOf(price.getEndDate()),
+                price.getPriceList(),
+                price.getProductId(),
+                price.getPriority(),
+                price.getPrice(),
+                price.getCurr()
+        };
+        if (id == null) {
+            return values;
+        }
+        Object[] withId = Arrays.copyOf(values, values.length + 1);
+        withId[values.length] = id;
+        return withId;
+    }
+}
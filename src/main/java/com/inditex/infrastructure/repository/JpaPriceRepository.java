@@ -1,50 +1,244 @@
 package com.inditex.infrastructure.repository;
 
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
 import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
 import com.inditex.domain.repository.PriceRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class JpaPriceRepository implements PriceRepository {
 
+    /**
+     * Consulta de precio aplicable.
+     *
+     * Filtra por marca y producto (igualdad) y por rango de fechas, ordena por prioridad
+     * descendente (a igual prioridad, la tarifa que empieza más tarde, igual que PriceTimeline)
+     * y devuelve solo la primera fila. Las columnas y el orden de los filtros coinciden con
+     * IDX_PRICES_LOOKUP de schema.sql, así que se resuelve con un rango del índice sin leer
+     * la tabla. Si se cambia la consulta, revisar también el índice.
+     *
+     * La fecha se recorta al segundo, con la misma resolución que PriceTimeline, para que todos
+     * los repositorios den la misma respuesta con fechas que traen fracciones de segundo.
+     */
+    public static final String LOOKUP_SQL = """
+            SELECT ID, BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR
+            FROM PRICES
+            WHERE BRAND_ID = ?
+              AND PRODUCT_ID = ?
+              AND START_DATE <= ?
+              AND END_DATE >= ?
+            ORDER BY PRIORITY DESC, START_DATE DESC
+            LIMIT 1
+            """;
+
+    /**
+     * LOOKUP_SQL más el fin del tramo de la tarifa ganadora, en el mismo viaje: NEXT_START es el
+     * primer inicio posterior a la fecha de una tarifa que la desplaza (prioridad mayor o igual;
+     * a igual prioridad, empezar más tarde ya la hace ganar). La subconsulta recorre el mismo
+     * índice IDX_PRICES_LOOKUP por (BRAND_ID, PRODUCT_ID, START_DATE).
+     */
+    public static final String SEGMENT_SQL = """
+            SELECT p.ID, p.BRAND_ID, p.START_DATE, p.END_DATE, p.PRICE_LIST, p.PRODUCT_ID, p.PRIORITY, p.PRICE, p.CURR,
+                   (SELECT MIN(n.START_DATE) FROM PRICES n
+                    WHERE n.BRAND_ID = p.BRAND_ID
+                      AND n.PRODUCT_ID = p.PRODUCT_ID
+                      AND n.START_DATE > ?
+                      AND n.START_DATE <= p.END_DATE
+                      AND n.PRIORITY >= p.PRIORITY) AS NEXT_START
+            FROM PRICES p
+            WHERE p.BRAND_ID = ?
+              AND p.PRODUCT_ID = ?
+              AND p.START_DATE <= ?
+              AND p.END_DATE >= ?
+            ORDER BY p.PRIORITY DESC, p.START_DATE DESC
+            LIMIT 1
+            """;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int exportFetchSize;
+
+    public JpaPriceRepository(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${pricing.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportFetchSize = exportFetchSize;
+    }
+
     @Override
     public Optional<Price> findApplicablePrice(Long productId, Long brandId, LocalDateTime date) {
+        Timestamp applicationDate = Timestamp.valueOf(date.truncatedTo(ChronoUnit.SECONDS));
+        return jdbcTemplate.query(LOOKUP_SQL, PriceRowMapper.INSTANCE, brandId, productId, applicationDate, applicationDate)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Tarifa y fin de tramo con SEGMENT_SQL, sin leer la línea temporal del producto.
+     */
+    @Override
+    public CompactPriceSegment findApplicableSegment(long productId, long brandId, long epochSecond) {
+        Timestamp applicationDate = Timestamp.valueOf(PriceTimeline.toDateTime(epochSecond));
+        return jdbcTemplate.query(SEGMENT_SQL, rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            CompactPrice price = CompactPrice.from(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+            Timestamp nextStart = rs.getTimestamp("NEXT_START");
+            long end = nextStart == null
+                    ? price.endEpochSecond()
+                    : Math.min(price.endEpochSecond(), PriceTimeline.toEpochSecond(nextStart.toLocalDateTime()) - 1);
+            return new CompactPriceSegment(price, end);
+        }, applicationDate, brandId, productId, applicationDate, applicationDate);
+    }
+
+    /**
+     * Resuelve todas las consultas con una única SELECT: trae las filas de los productos y marcas
+     * pedidos que solapan con el rango de fechas del lote, las aplana por grupo y resuelve
+     * cada consulta contra la línea temporal de su grupo. El rango se recorta al segundo, como
+     * las fechas de las consultas al resolverse en PriceTimeline.
+     */
+    @Override
+    public List<Optional<Price>> findApplicablePrices(List<PriceQuery> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+
+        Set<PriceKey> keys = queries.stream().map(PriceQuery::key).collect(Collectors.toSet());
+        LocalDateTime from = queries.stream().map(PriceQuery::date).min(Comparator.naturalOrder()).orElseThrow()
+                .truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = queries.stream().map(PriceQuery::date).max(Comparator.naturalOrder()).orElseThrow()
+                .truncatedTo(ChronoUnit.SECONDS);
+
+        List<Price> rows = entityManager.createQuery("""
+                        SELECT p FROM Price p
+                        WHERE p.productId IN :productIds
+                          AND p.brandId IN :brandIds
+                          AND p.startDate <= :to
+                          AND p.endDate >= :from
+                        """, Price.class)
+                .setParameter("productIds", keys.stream().map(PriceKey::productId).collect(Collectors.toSet()))
+                .setParameter("brandIds", keys.stream().map(PriceKey::brandId).collect(Collectors.toSet()))
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
 
-        /*
-        Filtra por brandId, productId
+        Map<PriceKey, PriceTimeline> timelines = new HashMap<>();
+        rows.stream()
+                .collect(Collectors.groupingBy(PriceKey::of))
+                .forEach((key, group) -> timelines.put(key, PriceTimeline.flatten(group)));
 
-        Filtra por rango de fechas (startDate <= ? AND endDate >= ?)
+        return queries.stream()
+                .map(query -> timelines.getOrDefault(query.key(), PriceTimeline.empty()).find(query.date()))
+                .toList();
+    }
+
+    @Override
+    public PriceTimeline findTimeline(Long productId, Long brandId) {
+        return PriceTimeline.flatten(findByProductAndBrand(productId, brandId));
+    }
 
-        Ordena por priority descendente
+    /**
+     * Recorre la marca con un cursor JDBC de solo avance y tamaño de fetch acotado, sin cargar
+     * la tabla ni pasar por el contexto de persistencia. Las filas llegan ordenadas por producto
+     * y prioridad, así que la primera de cada producto es la aplicable.
+     *
+     * El cursor se abre dentro de una transacción de solo lectura: con autocommit varios drivers
+     * (PostgreSQL, por ejemplo) ignoran el tamaño de fetch y leen todo el resultado de golpe.
+     */
+    @Override
+    public void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        String sql = """
+                SELECT * FROM PRICES
+                WHERE BRAND_ID = ?
+                  AND START_DATE <= ?
+                  AND END_DATE >= ?
+                ORDER BY PRODUCT_ID, PRIORITY DESC, START_DATE DESC
+                """;
 
-        Devuelve solo 1 resultado (el más prioritario)
-         */
+        Timestamp applicationDate = Timestamp.valueOf(date.truncatedTo(ChronoUnit.SECONDS));
+        long[] lastProductId = {Long.MIN_VALUE};
+        RowCallbackHandler handler = rs -> {
+            long productId = rs.getLong("PRODUCT_ID");
+            if (productId != lastProductId[0]) {
+                lastProductId[0] = productId;
+                consumer.accept(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+            }
+        };
 
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(exportFetchSize);
+            ps.setLong(1, brandId);
+            ps.setTimestamp(2, applicationDate);
+            ps.setTimestamp(3, applicationDate);
+            return ps;
+        }, handler));
+    }
+
+    /**
+     * Recorre toda la tabla con un cursor JDBC, agrupada por marca y producto
+     * (orden de IDX_PRICES_LOOKUP), en una transacción de solo lectura como
+     * forEachApplicablePrice. Lo usa el exportador de snapshots.
+     */
+    public void forEachPriceByGroup(Consumer<Price> consumer) {
         String sql = """
-                SELECT * FROM PRICES 
-                WHERE PRODUCT_ID = :productId 
-                  AND BRAND_ID = :brandId 
-                  AND START_DATE <= :applicationDate 
-                  AND END_DATE >= :applicationDate 
-                ORDER BY PRIORITY DESC 
-                LIMIT 1
+                SELECT * FROM PRICES
+                ORDER BY BRAND_ID, PRODUCT_ID
                 """;
 
-        Query query = entityManager.createNativeQuery(sql, Price.class);
-        query.setParameter("productId", productId);
-        query.setParameter("brandId", brandId);
-        query.setParameter("applicationDate", date);
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(exportFetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()))));
+    }
+
+    /**
+     * Devuelve todas las tarifas de un producto y marca, sin filtrar por fecha.
+     */
+    public List<Price> findByProductAndBrand(Long productId, Long brandId) {
+        return entityManager.createQuery(
+                        "SELECT p FROM Price p WHERE p.productId = :productId AND p.brandId = :brandId", Price.class)
+                .setParameter("productId", productId)
+                .setParameter("brandId", brandId)
+                .getResultList();
+    }
 
-        return query.getResultList().stream().findFirst();
+    /**
+     * Devuelve todas las tarifas de la tabla. Lo usan los índices en memoria
+     * para construirse sin pasar por la consulta de precio aplicable.
+     */
+    public List<Price> findAll() {
+        return entityManager.createQuery("SELECT p FROM Price p", Price.class).getResultList();
     }
 }
-
@@ -0,0 +1,31 @@
+package com.inditex.infrastructure.repository;
+
+import com.inditex.domain.model.Price;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mapea una fila de PRICES a Price sin pasar por el contexto de persistencia de JPA.
+ * Se usa en los recorridos JDBC de gran volumen, donde gestionar entidades no compensa.
+ */
+public class PriceRowMapper implements RowMapper<Price> {
+
+    public static final PriceRowMapper INSTANCE = new PriceRowMapper();
+
+    @Override
+    public Price mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Price.builder()
+                .id(rs.getLong("ID"))
+                .brandId(rs.getLong("BRAND_ID"))
+                .startDate(rs.getTimestamp("START_DATE").toLocalDateTime())
+                .endDate(rs.getTimestamp("END_DATE").toLocalDateTime())
+                .priceList(rs.getLong("PRICE_LIST"))
+                .productId(rs.getLong("PRODUCT_ID"))
+                .priority(rs.getInt("PRIORITY"))
+                .price(rs.getBigDecimal("PRICE"))
+                .curr(rs.getString("CURR"))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.inditex.infrastructure.repository.memory;
+
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesReloadedEvent;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación de PriceRepository que resuelve las consultas desde un índice en memoria.
+ *
+ * Carga la tabla PRICES una vez al arrancar a través de JpaPriceRepository y, a partir de ahí,
+ * cada consulta es una búsqueda en el índice sin SQL ni ORM. Cuando cambian filas
+ * (PricesChangedEvent) solo se recargan y reaplanan los grupos afectados. La publicación del
+ * índice como snapshot versionado la resuelve IndexedPriceRepository.
+ *
+ * Se activa con la propiedad pricing.repository.type=memory.
+ *
+ * Se registra como @Component y no como @Repository: no hay excepciones de persistencia que
+ * traducir y el proxy de traducción añadiría una reserva de memoria a cada consulta.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "pricing.repository", name = "type", havingValue = "memory")
+@Slf4j
+public class InMemoryPriceRepository extends IndexedPriceRepository {
+
+    private final JpaPriceRepository source;
+
+    public InMemoryPriceRepository(JpaPriceRepository source) {
+        this.source = source;
+    }
+
+    /**
+     * La lectura de la fuente se hace dentro del monitor, como en refresh, para que dos recargas
+     * no publiquen sus índices en desorden.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        long start = System.nanoTime();
+        PriceIntervalIndex loaded = replace(source.findAll());
+
+        log.info("📚 Índice de precios cargado: versión={}, filas={}, grupos={}, tramos={} en {} ms",
+                loaded.version(), loaded.rowCount(), loaded.groupCount(), loaded.segmentCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recalcula los grupos afectados a partir de la fuente y publica el nuevo índice de golpe.
+     * Los lectores siguen usando el índice anterior hasta ese momento. Se ejecuta antes que
+     * cualquier otro listener para que las cachés que se invaliden después recarguen ya del
+     * índice nuevo.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPricesChanged(PricesChangedEvent event) {
+        PriceIntervalIndex updated = refresh(event.keys(),
+                key -> source.findByProductAndBrand(key.productId(), key.brandId()));
+
+        log.debug("Índice de precios actualizado: versión={}, grupos recalculados={}", updated.version(), event.keys().size());
+    }
+
+    /**
+     * Tras una importación masiva compensa reconstruir el índice entero en lugar de grupo a grupo.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPricesReloaded(PricesReloadedEvent event) {
+        load();
+    }
+}
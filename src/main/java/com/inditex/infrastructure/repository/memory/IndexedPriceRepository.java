@@ -0,0 +1,105 @@
+package com.inditex.infrastructure.repository.memory;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Base de los repositorios que resuelven las consultas desde un PriceIntervalIndex en memoria
+ * (InMemoryPriceRepository y cada shard local de ShardedPriceStore).
+ *
+ * El índice es un snapshot inmutable y versionado publicado en una AtomicReference. Las
+ * actualizaciones construyen el índice nuevo aparte y lo publican en un único paso, de modo que
+ * los lectores nunca se bloquean ni ven una actualización a medias: cada consulta lee la
+ * referencia una vez y trabaja con esa versión hasta el final. El índice anterior lo reclama
+ * el GC cuando ya no lo usa ningún lector. Las actualizaciones se serializan con el monitor de
+ * la instancia para no construir dos índices a la vez a partir de la misma versión.
+ */
+public abstract class IndexedPriceRepository implements PriceRepository {
+
+    private final AtomicReference<PriceIntervalIndex> index = new AtomicReference<>(PriceIntervalIndex.empty());
+
+    /**
+     * Versión publicada del índice.
+     */
+    public PriceIntervalIndex index() {
+        return index.get();
+    }
+
+    /**
+     * Publica un índice completo con las filas indicadas.
+     */
+    protected synchronized PriceIntervalIndex replace(Collection<Price> prices) {
+        PriceIntervalIndex loaded = PriceIntervalIndex.build(index.get().version() + 1, prices);
+        index.set(loaded);
+        return loaded;
+    }
+
+    /**
+     * Relee los grupos indicados con el loader y publica la nueva versión. La lectura se hace
+     * dentro del monitor para que dos cambios del mismo grupo no se publiquen en desorden.
+     */
+    protected synchronized PriceIntervalIndex refresh(Collection<PriceKey> keys, Function<PriceKey, List<Price>> loader) {
+        Map<PriceKey, List<Price>> groups = new HashMap<>();
+        for (PriceKey key : keys) {
+            groups.put(key, loader.apply(key));
+        }
+        PriceIntervalIndex updated = index.get().withGroups(groups);
+        index.set(updated);
+        return updated;
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(Long productId, Long brandId, LocalDateTime date) {
+        return index.get().find(productId, brandId, date);
+    }
+
+    @Override
+    public CompactPrice findApplicableCompactPrice(long productId, long brandId, long epochSecond) {
+        return index.get().findCompact(productId, brandId, epochSecond);
+    }
+
+    /**
+     * Resuelve el lote contra una única versión del índice.
+     */
+    @Override
+    public List<Optional<Price>> findApplicablePrices(List<PriceQuery> queries) {
+        PriceIntervalIndex current = index.get();
+        return queries.stream()
+                .map(query -> current.find(query.productId(), query.brandId(), query.date()))
+                .toList();
+    }
+
+    @Override
+    public PriceTimeline findTimeline(Long productId, Long brandId) {
+        return index.get().timeline(productId, brandId);
+    }
+
+    @Override
+    public void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        index.get().forEachApplicable(brandId, date, consumer);
+    }
+
+    @Override
+    public long snapshotVersion() {
+        return index.get().version();
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+}
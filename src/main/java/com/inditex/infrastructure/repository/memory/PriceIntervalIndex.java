@@ -0,0 +1,156 @@
+package com.inditex.infrastructure.repository.memory;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceTimeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Índice inmutable en memoria de la tabla PRICES.
+ *
+ * Agrupa las tarifas por (brandId, productId) y guarda para cada grupo su PriceTimeline,
+ * con la prioridad ya resuelta, en un PriceTimelineTrie con claves primitivas. Una consulta es
+ * un descenso de pocos niveles por el trie más una búsqueda binaria sobre el inicio de los
+ * tramos, sin reservar memoria en findCompact.
+ *
+ * Los cambios no modifican el índice: withGroups devuelve otro, con la versión siguiente, que
+ * comparte con este todos los grupos salvo los afectados. Cada grupo cambiado copia solo el
+ * camino del trie hasta él, así que un lote cuesta O(grupos del lote · log32 n) y no depende
+ * del tamaño de la tabla. Cada índice es por tanto un snapshot completo e inmutable de los
+ * datos identificado por su versión.
+ */
+public final class PriceIntervalIndex {
+
+    private static final PriceIntervalIndex EMPTY = new PriceIntervalIndex(0, PriceTimelineTrie.EMPTY, 0, 0);
+
+    private final long version;
+    private final PriceTimelineTrie timelines;
+    private final int rowCount;
+    private final int segmentCount;
+
+    private PriceIntervalIndex(long version, PriceTimelineTrie timelines, int rowCount, int segmentCount) {
+        this.version = version;
+        this.timelines = timelines;
+        this.rowCount = rowCount;
+        this.segmentCount = segmentCount;
+    }
+
+    public static PriceIntervalIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construye un índice completo con la versión indicada.
+     */
+    public static PriceIntervalIndex build(long version, Collection<Price> prices) {
+        Map<PriceKey, List<Price>> groups = new HashMap<>();
+        for (Price price : prices) {
+            groups.computeIfAbsent(PriceKey.of(price), k -> new ArrayList<>()).add(price);
+        }
+        return EMPTY.withGroups(version, groups);
+    }
+
+    /**
+     * Devuelve un nuevo índice, con la versión siguiente, con las filas de los grupos indicados
+     * reemplazadas. Un grupo sin filas desaparece del índice. El resto de grupos se comparte.
+     */
+    public PriceIntervalIndex withGroups(Map<PriceKey, ? extends Collection<Price>> groups) {
+        return withGroups(version + 1, groups);
+    }
+
+    private PriceIntervalIndex withGroups(long newVersion, Map<PriceKey, ? extends Collection<Price>> groups) {
+        PriceTimelineTrie updated = timelines;
+        int rows = rowCount;
+        int segments = segmentCount;
+        for (Map.Entry<PriceKey, ? extends Collection<Price>> group : groups.entrySet()) {
+            PriceKey key = group.getKey();
+            PriceTimeline previous = updated.get(key.brandId(), key.productId());
+            if (previous != null) {
+                rows -= previous.rowCount();
+                segments -= previous.segmentCount();
+            }
+            PriceTimeline timeline = group.getValue().isEmpty() ? null : PriceTimeline.flatten(group.getValue());
+            if (timeline != null) {
+                rows += timeline.rowCount();
+                segments += timeline.segmentCount();
+            }
+            updated = updated.with(key.brandId(), key.productId(), timeline);
+        }
+        return new PriceIntervalIndex(newVersion, updated, rows, segments);
+    }
+
+    public Optional<Price> find(Long productId, Long brandId, LocalDateTime date) {
+        return Optional.ofNullable(timelines.get(brandId, productId))
+                .flatMap(timeline -> timeline.find(date));
+    }
+
+    /**
+     * Devuelve la tarifa compacta aplicable o null. No reserva memoria.
+     */
+    public CompactPrice findCompact(long productId, long brandId, long epochSecond) {
+        PriceTimeline timeline = timelines.get(brandId, productId);
+        return timeline == null ? null : timeline.findCompact(epochSecond);
+    }
+
+    /**
+     * Entrega el precio aplicable de cada producto de la marca en la fecha, ordenados por producto.
+     */
+    public void forEachApplicable(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        applicable(brandId, date).forEachRemaining(consumer);
+    }
+
+    /**
+     * Igual que forEachApplicable, pero como iterador: cada precio se resuelve al pedirlo. Solo se
+     * ordenan por adelantado los grupos de la marca.
+     */
+    public Iterator<Price> applicable(Long brandId, LocalDateTime date) {
+        long epochSecond = PriceTimeline.toEpochSecond(date);
+        List<ProductTimeline> products = new ArrayList<>();
+        timelines.forEach((brand, product, timeline) -> {
+            if (brand == brandId) {
+                products.add(new ProductTimeline(product, timeline));
+            }
+        });
+        products.sort(Comparator.comparingLong(ProductTimeline::productId));
+        return products.stream()
+                .map(product -> product.timeline().find(epochSecond))
+                .filter(Objects::nonNull)
+                .iterator();
+    }
+
+    public PriceTimeline timeline(Long productId, Long brandId) {
+        PriceTimeline timeline = timelines.get(brandId, productId);
+        return timeline != null ? timeline : PriceTimeline.empty();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int groupCount() {
+        return timelines.size();
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    private record ProductTimeline(long productId, PriceTimeline timeline) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.inditex.infrastructure.repository.memory;
+
+import com.inditex.domain.model.PriceTimeline;
+
+import java.util.Arrays;
+
+/**
+ * Mapa persistente (hash array mapped trie) de (brandId, productId) a PriceTimeline.
+ *
+ * Cada nodo tiene hasta 32 hijos indexados por 5 bits del hash y un bitmap con los presentes,
+ * así que con un millón de grupos la profundidad es de unos 4 niveles. with() no modifica la
+ * instancia: copia solo los nodos del camino hasta el grupo y comparte el resto, de modo que
+ * sustituir un grupo cuesta O(log32 n) y no O(n). Buscar no crea un PriceKey ni hace boxing.
+ * Dos claves con el mismo hash de 64 bits comparten un nodo de colisiones.
+ */
+final class PriceTimelineTrie {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    static final PriceTimelineTrie EMPTY = new PriceTimelineTrie(new Node(0, new Object[0]), 0);
+
+    /**
+     * Recibe cada grupo del trie, en un orden no especificado.
+     */
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long brandId, long productId, PriceTimeline timeline);
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PriceTimelineTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    PriceTimeline get(long brandId, long productId) {
+        long hash = hash(brandId, productId);
+        Object node = root;
+        int shift = 0;
+        while (true) {
+            if (node instanceof Node branch) {
+                int bit = bit(hash, shift);
+                if ((branch.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = branch.children[branch.index(bit)];
+                shift += BITS;
+            } else if (node instanceof Leaf leaf) {
+                return leaf.is(brandId, productId) ? leaf.timeline : null;
+            } else {
+                return ((Collision) node).get(brandId, productId);
+            }
+        }
+    }
+
+    /**
+     * Devuelve un trie con el grupo sustituido por timeline, o eliminado si timeline es null.
+     */
+    PriceTimelineTrie with(long brandId, long productId, PriceTimeline timeline) {
+        long hash = hash(brandId, productId);
+        boolean present = get(brandId, productId) != null;
+        if (timeline == null) {
+            return present
+                    ? new PriceTimelineTrie((Node) without(root, hash, brandId, productId, 0, true), size - 1)
+                    : this;
+        }
+        return new PriceTimelineTrie(with(root, new Leaf(brandId, productId, hash, timeline), 0), present ? size : size + 1);
+    }
+
+    void forEach(Visitor visitor) {
+        visit(root, visitor);
+    }
+
+    private static Node with(Node node, Leaf leaf, int shift) {
+        int bit = bit(leaf.hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            return new Node(node.bitmap | bit, insertAt(node.children, index, leaf));
+        }
+
+        Object child = node.children[index];
+        Object replaced;
+        if (child instanceof Node branch) {
+            replaced = with(branch, leaf, shift + BITS);
+        } else if (child instanceof Leaf existing) {
+            replaced = existing.is(leaf.brandId, leaf.productId) ? leaf : merge(existing, existing.hash, leaf, leaf.hash, shift + BITS);
+        } else {
+            Collision collision = (Collision) child;
+            replaced = collision.hash == leaf.hash ? collision.with(leaf) : merge(collision, collision.hash, leaf, leaf.hash, shift + BITS);
+        }
+        return new Node(node.bitmap, replaceAt(node.children, index, replaced));
+    }
+
+    /**
+     * Nodo con dos entradas de hash distinto (o un nodo de colisiones si el hash coincide).
+     */
+    private static Object merge(Object first, long firstHash, Leaf second, long secondHash, int shift) {
+        if (firstHash == secondHash) {
+            return new Collision(firstHash, new Leaf[]{(Leaf) first, second});
+        }
+        int firstIndex = (int) (firstHash >>> shift) & MASK;
+        int secondIndex = (int) (secondHash >>> shift) & MASK;
+        if (firstIndex == secondIndex) {
+            return new Node(1 << firstIndex, new Object[]{merge(first, firstHash, second, secondHash, shift + BITS)});
+        }
+        return new Node((1 << firstIndex) | (1 << secondIndex),
+                firstIndex < secondIndex ? new Object[]{first, second} : new Object[]{second, first});
+    }
+
+    /**
+     * Quita el grupo, que debe existir. Un nodo interno que se queda sin hijos desaparece y uno
+     * que se queda con una sola hoja se sustituye por ella.
+     */
+    private static Object without(Node node, long hash, long brandId, long productId, int shift, boolean root) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+        Object child = node.children[index];
+        Object replaced;
+        if (child instanceof Node branch) {
+            replaced = without(branch, hash, brandId, productId, shift + BITS, false);
+        } else if (child instanceof Leaf) {
+            replaced = null;
+        } else {
+            replaced = ((Collision) child).without(brandId, productId);
+        }
+
+        Node updated = replaced == null
+                ? new Node(node.bitmap & ~bit, removeAt(node.children, index))
+                : new Node(node.bitmap, replaceAt(node.children, index, replaced));
+        if (!root && updated.children.length == 0) {
+            return null;
+        }
+        if (!root && updated.children.length == 1 && !(updated.children[0] instanceof Node)) {
+            return updated.children[0];
+        }
+        return updated;
+    }
+
+    private static void visit(Object node, Visitor visitor) {
+        if (node instanceof Node branch) {
+            for (Object child : branch.children) {
+                visit(child, visitor);
+            }
+        } else if (node instanceof Leaf leaf) {
+            visitor.visit(leaf.brandId, leaf.productId, leaf.timeline);
+        } else {
+            for (Leaf leaf : ((Collision) node).leaves) {
+                visitor.visit(leaf.brandId, leaf.productId, leaf.timeline);
+            }
+        }
+    }
+
+    private static long hash(long brandId, long productId) {
+        long h = brandId * 0x9E3779B97F4A7C15L ^ productId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int bit(long hash, int shift) {
+        return 1 << ((int) (hash >>> shift) & MASK);
+    }
+
+    private static Object[] insertAt(Object[] children, int index, Object child) {
+        Object[] copy = new Object[children.length + 1];
+        System.arraycopy(children, 0, copy, 0, index);
+        copy[index] = child;
+        System.arraycopy(children, index, copy, index + 1, children.length - index);
+        return copy;
+    }
+
+    private static Object[] replaceAt(Object[] children, int index, Object child) {
+        Object[] copy = children.clone();
+        copy[index] = child;
+        return copy;
+    }
+
+    private static Object[] removeAt(Object[] children, int index) {
+        Object[] copy = new Object[children.length - 1];
+        System.arraycopy(children, 0, copy, 0, index);
+        System.arraycopy(children, index + 1, copy, index, children.length - index - 1);
+        return copy;
+    }
+
+    private record Node(int bitmap, Object[] children) {
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private record Leaf(long brandId, long productId, long hash, PriceTimeline timeline) {
+
+        boolean is(long brandId, long productId) {
+            return this.brandId == brandId && this.productId == productId;
+        }
+    }
+
+    private record Collision(long hash, Leaf[] leaves) {
+
+        PriceTimeline get(long brandId, long productId) {
+            for (Leaf leaf : leaves) {
+                if (leaf.is(brandId, productId)) {
+                    return leaf.timeline;
+                }
+            }
+            return null;
+        }
+
+        Collision with(Leaf leaf) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].is(leaf.brandId, leaf.productId)) {
+                    Leaf[] copy = leaves.clone();
+                    copy[i] = leaf;
+                    return new Collision(hash, copy);
+                }
+            }
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new Collision(hash, copy);
+        }
+
+        /**
+         * Sin el grupo; con una sola hoja restante se devuelve la hoja.
+         */
+        Object without(long brandId, long productId) {
+            Leaf[] remaining = Arrays.stream(leaves).filter(leaf -> !leaf.is(brandId, productId)).toArray(Leaf[]::new);
+            return remaining.length == 1 ? remaining[0] : new Collision(hash, remaining);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.inditex.infrastructure.repository.shard;
+
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.infrastructure.repository.memory.IndexedPriceRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shard en proceso: un índice en memoria versionado con solo las filas de su partición.
+ *
+ * Las actualizaciones se serializan con el monitor del propio shard, así que los cambios de
+ * marcas de shards distintos no compiten entre sí.
+ */
+final class LocalPriceShard extends IndexedPriceRepository implements PriceShard {
+
+    private final int number;
+
+    LocalPriceShard(int number) {
+        this.number = number;
+    }
+
+    int number() {
+        return number;
+    }
+
+    void load(Collection<Price> prices) {
+        replace(prices);
+    }
+
+    void update(Collection<PriceKey> keys, Function<PriceKey, List<Price>> loader) {
+        refresh(keys, loader);
+    }
+
+    @Override
+    public Cursor openApplicablePrices(Long brandId, LocalDateTime date) {
+        Iterator<Price> prices = index().applicable(brandId, date);
+        return new Cursor() {
+            @Override
+            public boolean hasNext() {
+                return prices.hasNext();
+            }
+
+            @Override
+            public Price next() {
+                return prices.next();
+            }
+
+            @Override
+            public void close() {
+                // Nada que liberar: el cursor recorre un snapshot en memoria
+            }
+        };
+    }
+}
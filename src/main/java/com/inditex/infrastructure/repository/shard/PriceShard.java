@@ -0,0 +1,25 @@
+package com.inditex.infrastructure.repository.shard;
+
+import com.inditex.domain.model.Price;
+import com.inditex.domain.repository.PriceRepository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+/**
+ * Shard de ShardedPriceStore: además de resolver consultas, abre un cursor sobre la exportación
+ * de una marca para que varios shards se puedan mezclar por producto sin acumular sus resultados.
+ */
+interface PriceShard extends PriceRepository {
+
+    /**
+     * Precios aplicables de la marca en la fecha, ordenados por producto. El cursor debe cerrarse.
+     */
+    Cursor openApplicablePrices(Long brandId, LocalDateTime date);
+
+    interface Cursor extends Iterator<Price>, AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,238 @@
+package com.inditex.infrastructure.repository.shard;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.controller.dto.PriceBatchRequestDto;
+import com.inditex.infrastructure.controller.dto.PriceBatchResultDto;
+import com.inditex.infrastructure.controller.dto.PriceQueryDto;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import com.inditex.infrastructure.controller.dto.PriceSegmentDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Shard servido por otro nodo de pricing-api a través de su API REST.
+ *
+ * El nodo remoto resuelve las consultas con su propio repositorio; aquí solo se traducen las
+ * llamadas: GET /api/prices, POST /api/prices/batch (en trozos del máximo admitido),
+ * GET /api/prices/timeline y GET /api/prices/export. Los cambios de los grupos de este shard deben
+ * ingerirse en el nodo remoto.
+ *
+ * Las tarifas de GET /api/prices, del lote y de la exportación llegan sin id ni prioridad: son
+ * ganadoras ya resueltas por el nodo remoto y aquí no se vuelven a ordenar ni a comparar por
+ * prioridad. Lo único que se ordena localmente es la línea temporal de findTimeline (la que carga
+ * la caché), y esa sí trae la prioridad de cada ganadora en PriceSegmentDto.
+ */
+final class RemotePriceShard implements PriceShard {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+    private static final TypeReference<List<PriceSegmentDto>> SEGMENTS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<PriceBatchResultDto>> BATCH = new TypeReference<>() {
+    };
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+
+    RemotePriceShard(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(Long productId, Long brandId, LocalDateTime date) {
+        HttpResponse<InputStream> response = send(get("/api/prices?date=" + date + "&productId=" + productId + "&brandId=" + brandId));
+        if (response.statusCode() == 404) {
+            discard(response);
+            return Optional.empty();
+        }
+        return Optional.of(toPrice(read(response, PriceResponseDto.class)));
+    }
+
+    @Override
+    public List<Optional<Price>> findApplicablePrices(List<PriceQuery> queries) {
+        List<Optional<Price>> prices = new ArrayList<>(queries.size());
+        for (int from = 0; from < queries.size(); from += PriceBatchRequestDto.MAX_ITEMS) {
+            List<PriceQueryDto> items = queries.subList(from, Math.min(queries.size(), from + PriceBatchRequestDto.MAX_ITEMS))
+                    .stream()
+                    .map(query -> new PriceQueryDto(query.productId(), query.brandId(), query.date()))
+                    .toList();
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/prices/batch"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(write(new PriceBatchRequestDto(items))))
+                    .build();
+            for (PriceBatchResultDto result : read(send(request), BATCH)) {
+                prices.add(Optional.ofNullable(result.price()).map(RemotePriceShard::toPrice));
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Reconstruye la línea temporal a partir de las tarifas ganadoras de cada tramo con su vigencia
+     * completa. Aplanar solo las ganadoras da los mismos tramos: en cada instante la ganadora
+     * original sigue vigente y ninguna otra ganadora vigente la supera.
+     */
+    @Override
+    public PriceTimeline findTimeline(Long productId, Long brandId) {
+        List<PriceSegmentDto> segments = read(send(get("/api/prices/timeline?productId=" + productId + "&brandId=" + brandId)), SEGMENTS);
+
+        Map<List<Object>, Price> winners = new LinkedHashMap<>();
+        for (PriceSegmentDto segment : segments) {
+            List<Object> key = List.of(segment.priceList(), segment.priority(), segment.priceStartDate(), segment.priceEndDate());
+            winners.computeIfAbsent(key, k -> Price.builder()
+                    .brandId(brandId)
+                    .productId(productId)
+                    .priceList(segment.priceList())
+                    .priority(segment.priority())
+                    .startDate(segment.priceStartDate())
+                    .endDate(segment.priceEndDate())
+                    .price(segment.price())
+                    .curr(segment.currency())
+                    .build());
+        }
+        return PriceTimeline.flatten(winners.values());
+    }
+
+    @Override
+    public void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        try (Cursor prices = openApplicablePrices(brandId, date)) {
+            prices.forEachRemaining(consumer);
+        }
+    }
+
+    /**
+     * Lee la exportación NDJSON del nodo remoto según se consume el cursor: la respuesta queda
+     * abierta hasta cerrarlo.
+     */
+    @Override
+    public Cursor openApplicablePrices(Long brandId, LocalDateTime date) {
+        HttpResponse<InputStream> response = send(get("/api/prices/export?date=" + date + "&brandId=" + brandId));
+        MappingIterator<PriceResponseDto> lines;
+        try {
+            lines = objectMapper.readerFor(PriceResponseDto.class).readValues(response.body());
+        } catch (IOException e) {
+            discard(response);
+            throw new UncheckedIOException("Error leyendo la exportación del shard " + baseUri, e);
+        }
+        return new Cursor() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return lines.hasNextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error leyendo la exportación del shard " + baseUri, e);
+                }
+            }
+
+            @Override
+            public Price next() {
+                return toPrice(lines.next());
+            }
+
+            @Override
+            public void close() {
+                try {
+                    lines.close();
+                } catch (IOException ignored) {
+                    // La conexión se descarta igualmente
+                }
+                discard(response);
+            }
+        };
+    }
+
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request) {
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shard remoto no disponible: " + baseUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta al shard " + baseUri + " interrumpida", e);
+        }
+        if (response.statusCode() != 200 && response.statusCode() != 404) {
+            discard(response);
+            throw new IllegalStateException("El shard " + baseUri + " respondió " + response.statusCode()
+                    + " a " + request.uri().getPath());
+        }
+        return response;
+    }
+
+    private <T> T read(HttpResponse<InputStream> response, Class<T> type) {
+        try (InputStream body = response.body()) {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Respuesta ilegible del shard " + baseUri, e);
+        }
+    }
+
+    private <T> T read(HttpResponse<InputStream> response, TypeReference<T> type) {
+        try (InputStream body = response.body()) {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Respuesta ilegible del shard " + baseUri, e);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException ignored) {
+            // La conexión se descarta igualmente
+        }
+    }
+
+    /**
+     * Ganadora resuelta por el nodo remoto, con id y prioridad a null (ver la cabecera de la clase).
+     */
+    private static Price toPrice(PriceResponseDto dto) {
+        return Price.builder()
+                .brandId(dto.brandId())
+                .productId(dto.productId())
+                .priceList(dto.priceList())
+                .startDate(dto.startDate())
+                .endDate(dto.endDate())
+                .price(dto.price())
+                .curr(dto.currency())
+                .build();
+    }
+}
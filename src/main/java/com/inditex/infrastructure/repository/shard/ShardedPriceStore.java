@@ -0,0 +1,219 @@
+package com.inditex.infrastructure.repository.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesReloadedEvent;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.repository.PriceRepository;
+import com.inditex.domain.repository.PriceShardRouter;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de precios particionado por marca (y opcionalmente por hash de producto) en
+ * pricing.sharding.shards shards independientes, cada uno con su índice versionado y su propio
+ * dominio de bloqueo. PriceServiceImpl enruta cada consulta al shard de su grupo.
+ *
+ * Los shards locales se cargan de una sola lectura de PRICES, construyendo los índices en
+ * paralelo, y ante PricesChangedEvent solo se recalculan los grupos afectados en sus shards.
+ * Un shard puede vivir en otro nodo (pricing.sharding.nodes, "shard=URL base"): en ese caso no
+ * se carga aquí y sus consultas se delegan por HTTP en ese nodo.
+ *
+ * Se activa con la propiedad pricing.repository.type=sharded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pricing.repository", name = "type", havingValue = "sharded")
+@Slf4j
+public class ShardedPriceStore implements PriceShardRouter {
+
+    private final JpaPriceRepository source;
+    private final boolean byProduct;
+    private final PriceShard[] shards;
+    private final List<LocalPriceShard> localShards = new ArrayList<>();
+
+    /**
+     * Los cambios incrementales comparten el bloqueo de lectura y solo se serializan dentro de
+     * cada shard; una recarga completa lo toma en exclusiva para no pisar cambios en curso.
+     */
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+
+    public ShardedPriceStore(JpaPriceRepository source,
+                             ObjectMapper objectMapper,
+                             @Value("${pricing.sharding.shards:0}") int shards,
+                             @Value("${pricing.sharding.by-product:false}") boolean byProduct,
+                             @Value("${pricing.sharding.nodes:}") List<String> nodes) {
+        this.source = source;
+        this.byProduct = byProduct;
+        this.shards = new PriceShard[shards > 0 ? shards : Runtime.getRuntime().availableProcessors()];
+
+        for (String node : nodes) {
+            int number = parseShardNumber(node);
+            this.shards[number] = new RemotePriceShard(URI.create(node.split("=", 2)[1].strip()), objectMapper);
+        }
+        for (int number = 0; number < this.shards.length; number++) {
+            if (this.shards[number] == null) {
+                LocalPriceShard shard = new LocalPriceShard(number);
+                localShards.add(shard);
+                this.shards[number] = shard;
+            }
+        }
+    }
+
+    /**
+     * Número de shard de una entrada "shard=URL" de pricing.sharding.nodes.
+     */
+    private int parseShardNumber(String node) {
+        String[] parts = node.split("=", 2);
+        int number = -1;
+        if (parts.length == 2) {
+            try {
+                number = Integer.parseInt(parts[0].strip());
+            } catch (NumberFormatException e) {
+                // Se informa abajo junto con el resto de entradas inválidas
+            }
+        }
+        if (number < 0 || number >= shards.length) {
+            throw new IllegalArgumentException("pricing.sharding.nodes: se esperaba shard=URL con shard entre 0 y "
+                    + (shards.length - 1) + ": " + node);
+        }
+        return number;
+    }
+
+    /**
+     * Marca por módulo, para que el reparto sea predecible; producto con un hash que mezcla los
+     * bits, porque los identificadores consecutivos se concentrarían en pocos shards.
+     */
+    int shardOf(long brandId, long productId) {
+        if (!byProduct) {
+            return (int) Math.floorMod(brandId, (long) shards.length);
+        }
+        long hash = (brandId * 31 + productId) * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) shards.length);
+    }
+
+    @Override
+    public PriceRepository shardFor(long brandId, long productId) {
+        return shards[shardOf(brandId, productId)];
+    }
+
+    @Override
+    public List<PriceRepository> shardsOf(long brandId) {
+        return byProduct ? List.of(shards) : List.of(shards[shardOf(brandId, 0)]);
+    }
+
+    /**
+     * Con un solo shard delega en él. Con la marca repartida por producto mezcla los shards como
+     * un merge de k vías: cada shard ya entrega su parte ordenada por producto, así que basta con
+     * tener en memoria el siguiente precio de cada uno.
+     */
+    @Override
+    public void forEachApplicablePrice(long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        if (!byProduct) {
+            shards[shardOf(brandId, 0)].forEachApplicablePrice(brandId, date, consumer);
+            return;
+        }
+
+        List<PriceShard.Cursor> cursors = new ArrayList<>(shards.length);
+        PriorityQueue<Head> heads = new PriorityQueue<>(shards.length, Comparator.comparingLong(head -> head.price.getProductId()));
+        try {
+            for (PriceShard shard : shards) {
+                PriceShard.Cursor cursor = shard.openApplicablePrices(brandId, date);
+                cursors.add(cursor);
+                if (cursor.hasNext()) {
+                    heads.add(new Head(cursor.next(), cursor));
+                }
+            }
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                consumer.accept(head.price);
+                if (head.cursor.hasNext()) {
+                    heads.add(new Head(head.cursor.next(), head.cursor));
+                }
+            }
+        } finally {
+            cursors.forEach(PriceShard.Cursor::close);
+        }
+    }
+
+    private record Head(Price price, PriceShard.Cursor cursor) {
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (localShards.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        reloadLock.writeLock().lock();
+        try {
+            Map<Integer, List<Price>> partitions = new HashMap<>();
+            for (Price price : source.findAll()) {
+                partitions.computeIfAbsent(shardOf(price.getBrandId(), price.getProductId()), k -> new ArrayList<>()).add(price);
+            }
+            localShards.parallelStream()
+                    .forEach(shard -> shard.load(partitions.getOrDefault(shard.number(), List.of())));
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+
+        log.info("🧩 Shards de precios cargados: locales={}, remotos={}, filas={} en {} ms",
+                localShards.size(), shards.length - localShards.size(),
+                localShards.stream().mapToInt(shard -> shard.index().rowCount()).sum(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recalcula los grupos afectados en su shard. Cada shard publica su nueva versión por separado.
+     * Como en InMemoryPriceRepository, se ejecuta antes que la invalidación de la caché.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPricesChanged(PricesChangedEvent event) {
+        Map<LocalPriceShard, List<PriceKey>> groups = new HashMap<>();
+        for (PriceKey key : event.keys()) {
+            if (shardFor(key.brandId(), key.productId()) instanceof LocalPriceShard shard) {
+                groups.computeIfAbsent(shard, k -> new ArrayList<>()).add(key);
+            }
+        }
+
+        reloadLock.readLock().lock();
+        try {
+            groups.forEach((shard, keys) ->
+                    shard.update(keys, key -> source.findByProductAndBrand(key.productId(), key.brandId())));
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+
+        log.debug("Shards de precios actualizados: shards={}, grupos recalculados={}", groups.size(), event.keys().size());
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPricesReloaded(PricesReloadedEvent event) {
+        load();
+    }
+}
@@ -0,0 +1,122 @@
+package com.inditex.infrastructure.repository.snapshot;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de PriceRepository que resuelve las consultas desde un snapshot binario
+ * mapeado en memoria (pricing.snapshot.path).
+ *
+ * Arrancar no ejecuta SQL ni crea objetos por fila: se mapea el fichero y cada consulta es una
+ * bisección sobre el índice de grupos más un recorrido de las filas del grupo. En producción
+ * conviene acompañarlo de spring.sql.init.mode=never para no cargar data.sql en H2.
+ *
+ * El snapshot es de solo lectura: los cambios en PRICES no se reflejan hasta generar uno nuevo
+ * (ver PriceSnapshotExporter) y reiniciar, así que con este repositorio el feed de cambios y la
+ * importación responden 409.
+ *
+ * Se activa con la propiedad pricing.repository.type=snapshot.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "pricing.repository", name = "type", havingValue = "snapshot")
+@Slf4j
+public class MappedPriceRepository implements PriceRepository {
+
+    private final PriceSnapshot snapshot;
+
+    public MappedPriceRepository(@Value("${pricing.snapshot.path}") Path path) {
+        long start = System.nanoTime();
+        this.snapshot = PriceSnapshot.open(path);
+
+        log.info("🗺️ Snapshot de precios mapeado: fichero={}, filas={}, grupos={} en {} ms",
+                path, snapshot.rowCount(), snapshot.groupCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Optional<Price> findApplicablePrice(Long productId, Long brandId, LocalDateTime date) {
+        int group = snapshot.findGroup(brandId, productId);
+        if (group < 0) {
+            return Optional.empty();
+        }
+        int row = snapshot.findRow(group, PriceTimeline.toEpochSecond(date));
+        return row < 0 ? Optional.empty() : Optional.of(snapshot.price(group, row));
+    }
+
+    @Override
+    public CompactPrice findApplicableCompactPrice(long productId, long brandId, long epochSecond) {
+        int group = snapshot.findGroup(brandId, productId);
+        if (group < 0) {
+            return null;
+        }
+        int row = snapshot.findRow(group, epochSecond);
+        return row < 0 ? null : snapshot.compactPrice(group, row);
+    }
+
+    /**
+     * Tarifa y fin de tramo sobre las filas del grupo, sin aplanar su línea temporal.
+     */
+    @Override
+    public CompactPriceSegment findApplicableSegment(long productId, long brandId, long epochSecond) {
+        int group = snapshot.findGroup(brandId, productId);
+        if (group < 0) {
+            return null;
+        }
+        int row = snapshot.findRow(group, epochSecond);
+        return row < 0 ? null : new CompactPriceSegment(snapshot.compactPrice(group, row), snapshot.segmentEnd(group, row, epochSecond));
+    }
+
+    @Override
+    public List<Optional<Price>> findApplicablePrices(List<PriceQuery> queries) {
+        return queries.stream()
+                .map(query -> findApplicablePrice(query.productId(), query.brandId(), query.date()))
+                .toList();
+    }
+
+    @Override
+    public PriceTimeline findTimeline(Long productId, Long brandId) {
+        int group = snapshot.findGroup(brandId, productId);
+        return group < 0 ? PriceTimeline.empty() : PriceTimeline.flatten(snapshot.prices(group));
+    }
+
+    /**
+     * Los grupos de una marca son contiguos y están ordenados por producto.
+     */
+    @Override
+    public void forEachApplicablePrice(Long brandId, LocalDateTime date, Consumer<Price> consumer) {
+        long epochSecond = PriceTimeline.toEpochSecond(date);
+        for (int group = snapshot.firstGroupOfBrand(brandId);
+             group < snapshot.groupCount() && snapshot.brandIdOf(group) == brandId;
+             group++) {
+            int row = snapshot.findRow(group, epochSecond);
+            if (row >= 0) {
+                consumer.accept(snapshot.price(group, row));
+            }
+        }
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+
+    @Override
+    public boolean reflectsWrites() {
+        return false;
+    }
+}
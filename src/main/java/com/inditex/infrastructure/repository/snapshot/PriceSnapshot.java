@@ -0,0 +1,222 @@
+package com.inditex.infrastructure.repository.snapshot;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceTimeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.inditex.infrastructure.repository.snapshot.PriceSnapshotFormat.*;
+
+/**
+ * Snapshot de precios mapeado en memoria en modo solo lectura (ver PriceSnapshotFormat).
+ *
+ * Abrirlo solo valida la cabecera y mapea el fichero; las páginas las carga el sistema operativo
+ * bajo demanda. Las búsquedas leen directamente del mapeo con accesos absolutos: no hay objetos
+ * por fila en el heap, solo el resultado que se devuelve.
+ */
+public final class PriceSnapshot {
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int groupCount;
+    private final int rowCount;
+    private final int rowsOffset;
+    private final int groupsOffset;
+    private final String[] currencies;
+
+    private PriceSnapshot(Path path, ByteBuffer data) {
+        this.path = path;
+        this.data = data;
+        if (data.capacity() < HEADER_BYTES || data.getLong(H_MAGIC) != MAGIC) {
+            throw new IllegalStateException("El fichero no es un snapshot de precios: " + path);
+        }
+        if (data.getInt(H_VERSION) != VERSION) {
+            throw new IllegalStateException("Versión de snapshot no soportada " + data.getInt(H_VERSION) + ": " + path);
+        }
+        this.groupCount = data.getInt(H_GROUP_COUNT);
+        this.rowCount = data.getInt(H_ROW_COUNT);
+        this.rowsOffset = (int) data.getLong(H_ROWS_OFFSET);
+        this.groupsOffset = (int) data.getLong(H_GROUPS_OFFSET);
+
+        int currenciesOffset = (int) data.getLong(H_CURRENCIES_OFFSET);
+        this.currencies = new String[data.getInt(H_CURRENCY_COUNT)];
+        for (int i = 0; i < currencies.length; i++) {
+            byte[] code = new byte[CURRENCY_BYTES];
+            data.get(currenciesOffset + i * CURRENCY_BYTES, code);
+            int length = 0;
+            while (length < code.length && code[length] != 0) {
+                length++;
+            }
+            currencies[i] = new String(code, 0, length, StandardCharsets.US_ASCII).intern();
+        }
+    }
+
+    public static PriceSnapshot open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("El snapshot supera el máximo mapeable de 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PriceSnapshot(path, mapped.order(ORDER));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el snapshot " + path, e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Posición del grupo (brandId, productId) por bisección, o -1 si no existe.
+     */
+    int findGroup(long brandId, long productId) {
+        int low = 0;
+        int high = groupCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = groupAt(mid);
+            int cmp = Long.compare(data.getLong(at + G_BRAND_ID), brandId);
+            if (cmp == 0) {
+                cmp = Long.compare(data.getLong(at + G_PRODUCT_ID), productId);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Primer grupo de la marca (o el punto donde estaría), para recorrer sus productos en orden.
+     */
+    int firstGroupOfBrand(long brandId) {
+        int low = 0;
+        int high = groupCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data.getLong(groupAt(mid) + G_BRAND_ID) < brandId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long brandIdOf(int group) {
+        return data.getLong(groupAt(group) + G_BRAND_ID);
+    }
+
+    long productIdOf(int group) {
+        return data.getLong(groupAt(group) + G_PRODUCT_ID);
+    }
+
+    /**
+     * Fila aplicable del grupo en el segundo indicado o -1. Las filas están por prioridad,
+     * así que la primera vigente es la ganadora.
+     */
+    int findRow(int group, long epochSecond) {
+        int at = groupAt(group);
+        int first = data.getInt(at + G_FIRST_ROW);
+        int end = first + data.getInt(at + G_ROW_COUNT);
+        for (int row = first; row < end; row++) {
+            int r = rowAt(row);
+            if (data.getLong(r + R_START) <= epochSecond && epochSecond <= data.getLong(r + R_END)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Último segundo en que la fila ganadora row sigue siéndolo desde epochSecond: su fin o el
+     * segundo anterior al primer inicio posterior de una fila de más precedencia (las anteriores
+     * del grupo, que está ordenado como PriceTimeline).
+     */
+    long segmentEnd(int group, int row, long epochSecond) {
+        int first = data.getInt(groupAt(group) + G_FIRST_ROW);
+        long end = data.getLong(rowAt(row) + R_END);
+        for (int preceding = first; preceding < row; preceding++) {
+            long start = data.getLong(rowAt(preceding) + R_START);
+            if (start > epochSecond && start - 1 < end) {
+                end = start - 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Todas las tarifas del grupo como Price, para aplanar su línea temporal.
+     */
+    List<Price> prices(int group) {
+        int at = groupAt(group);
+        int first = data.getInt(at + G_FIRST_ROW);
+        int count = data.getInt(at + G_ROW_COUNT);
+        List<Price> prices = new ArrayList<>(count);
+        for (int row = first; row < first + count; row++) {
+            prices.add(price(group, row));
+        }
+        return prices;
+    }
+
+    Price price(int group, int row) {
+        int r = rowAt(row);
+        return Price.builder()
+                .id(data.getLong(r + R_ID))
+                .brandId(brandIdOf(group))
+                .productId(productIdOf(group))
+                .startDate(PriceTimeline.toDateTime(data.getLong(r + R_START)))
+                .endDate(PriceTimeline.toDateTime(data.getLong(r + R_END)))
+                .priceList(data.getLong(r + R_PRICE_LIST))
+                .priority(data.getInt(r + R_PRIORITY))
+                .price(BigDecimal.valueOf(data.getLong(r + R_PRICE_UNITS), CompactPrice.SCALE))
+                .curr(currencies[data.getInt(r + R_CURRENCY)])
+                .build();
+    }
+
+    CompactPrice compactPrice(int group, int row) {
+        int r = rowAt(row);
+        return new CompactPrice(
+                data.getLong(r + R_ID),
+                productIdOf(group),
+                brandIdOf(group),
+                data.getLong(r + R_PRICE_LIST),
+                data.getLong(r + R_START),
+                data.getLong(r + R_END),
+                data.getLong(r + R_PRICE_UNITS),
+                currencies[data.getInt(r + R_CURRENCY)]
+        );
+    }
+
+    private int groupAt(int group) {
+        return groupsOffset + group * GROUP_BYTES;
+    }
+
+    private int rowAt(int row) {
+        return rowsOffset + row * ROW_BYTES;
+    }
+}
@@ -0,0 +1,55 @@
+package com.inditex.infrastructure.repository.snapshot;
+
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Genera el snapshot binario de precios a partir de la tabla PRICES al terminar el arranque.
+ *
+ * Se activa con pricing.snapshot.write-on-startup=true y escribe en pricing.snapshot.path.
+ * Lee la tabla en streaming, ordenada por (brandId, productId), así que la memoria no crece
+ * con el número de filas. Si la lectura falla a mitad, el snapshot anterior no se sustituye.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pricing.snapshot", name = "write-on-startup", havingValue = "true")
+@Slf4j
+public class PriceSnapshotExporter {
+
+    private final JpaPriceRepository source;
+    private final Path path;
+
+    public PriceSnapshotExporter(JpaPriceRepository source, @Value("${pricing.snapshot.path}") Path path) {
+        this.source = source;
+        this.path = path;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        export();
+    }
+
+    public void export() {
+        long start = System.nanoTime();
+        int rows;
+        PriceSnapshotWriter writer = PriceSnapshotWriter.open(path);
+        try {
+            source.forEachPriceByGroup(writer::append);
+            rows = writer.rowCount();
+        } catch (RuntimeException e) {
+            writer.abort();
+            log.warn("⚠️ Snapshot de precios descartado, se conserva el anterior: fichero={} ({})", path, e.getMessage());
+            throw e;
+        }
+        writer.close();
+
+        log.info("💾 Snapshot de precios escrito: fichero={}, filas={} en {} ms",
+                path, rows, (System.nanoTime() - start) / 1_000_000);
+    }
+}
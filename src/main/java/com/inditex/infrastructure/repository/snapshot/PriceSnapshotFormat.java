@@ -0,0 +1,65 @@
+package com.inditex.infrastructure.repository.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * Formato binario del snapshot de PRICES. Todos los campos son de ancho fijo y little-endian.
+ *
+ * <pre>
+ * Cabecera (64 bytes)
+ *   0  magic            long   "PRCSNAP1"
+ *   8  version          int
+ *   12 groupCount       int
+ *   16 rowCount         int
+ *   20 currencyCount    int
+ *   24 rowsOffset       long
+ *   32 groupsOffset     long
+ *   40 currenciesOffset long
+ *
+ * Filas (48 bytes), contiguas por grupo y, dentro de cada grupo, por prioridad descendente
+ * y fecha de inicio descendente: la primera fila vigente de un grupo es la aplicable.
+ *   0  id, 8 startEpochSecond, 16 endEpochSecond, 24 priceList, 32 priceUnits (escala 2)
+ *   40 priority int, 44 índice de moneda int
+ *
+ * Grupos (24 bytes), ordenados por (brandId, productId) para buscarlos por bisección.
+ *   0  brandId, 8 productId, 16 primera fila int, 20 número de filas int
+ *
+ * Monedas (4 bytes): código ISO en ASCII, relleno con ceros.
+ * </pre>
+ */
+final class PriceSnapshotFormat {
+
+    static final long MAGIC = 0x3150414E53435250L; // "PRCSNAP1" en little-endian
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_BYTES = 64;
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 8;
+    static final int H_GROUP_COUNT = 12;
+    static final int H_ROW_COUNT = 16;
+    static final int H_CURRENCY_COUNT = 20;
+    static final int H_ROWS_OFFSET = 24;
+    static final int H_GROUPS_OFFSET = 32;
+    static final int H_CURRENCIES_OFFSET = 40;
+
+    static final int ROW_BYTES = 48;
+    static final int R_ID = 0;
+    static final int R_START = 8;
+    static final int R_END = 16;
+    static final int R_PRICE_LIST = 24;
+    static final int R_PRICE_UNITS = 32;
+    static final int R_PRIORITY = 40;
+    static final int R_CURRENCY = 44;
+
+    static final int GROUP_BYTES = 24;
+    static final int G_BRAND_ID = 0;
+    static final int G_PRODUCT_ID = 8;
+    static final int G_FIRST_ROW = 16;
+    static final int G_ROW_COUNT = 20;
+
+    static final int CURRENCY_BYTES = 4;
+
+    private PriceSnapshotFormat() {
+    }
+}
@@ -0,0 +1,240 @@
+package com.inditex.infrastructure.repository.snapshot;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.inditex.infrastructure.repository.snapshot.PriceSnapshotFormat.*;
+
+/**
+ * Escribe un snapshot de precios (ver PriceSnapshotFormat) en streaming.
+ *
+ * Las tarifas deben llegar agrupadas por (brandId, productId) en orden ascendente; dentro de cada
+ * grupo el propio escritor las ordena por prioridad. Solo el grupo en curso y el índice de grupos
+ * se mantienen en memoria. Se escribe en un fichero temporal que se mueve al destino al cerrar,
+ * de modo que nadie llega a mapear un snapshot a medio escribir. Si la fuente falla a mitad,
+ * abort() descarta el temporal y el snapshot anterior sigue en su sitio.
+ */
+public final class PriceSnapshotWriter implements Closeable {
+
+    /**
+     * Mismo criterio que PriceTimeline: mayor prioridad primero y, a igual prioridad, la que empieza más tarde.
+     */
+    private static final Comparator<Price> BY_PRIORITY = Comparator
+            .comparing(Price::getPriority)
+            .thenComparing(Price::getStartDate)
+            .reversed();
+
+    private static final Comparator<Price> BY_GROUP = Comparator
+            .comparing(Price::getBrandId)
+            .thenComparing(Price::getProductId);
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ORDER);
+    private final Map<String, Integer> currencies = new LinkedHashMap<>();
+    private final List<Price> group = new ArrayList<>();
+
+    private long[] groupKeys = new long[2 * 1024];
+    private int[] groupRows = new int[2 * 1024];
+    private int groupCount;
+    private int rowCount;
+    private boolean closed;
+
+    private PriceSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.temp = Files.createTempFile(this.target.getParent(), this.target.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(HEADER_BYTES);
+    }
+
+    public static PriceSnapshotWriter open(Path target) {
+        try {
+            return new PriceSnapshotWriter(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el snapshot " + target, e);
+        }
+    }
+
+    /**
+     * Escribe de una vez una colección sin ordenar.
+     */
+    public static void write(Path target, Collection<Price> prices) {
+        List<Price> sorted = new ArrayList<>(prices);
+        sorted.sort(BY_GROUP);
+        PriceSnapshotWriter writer = open(target);
+        try {
+            sorted.forEach(writer::append);
+        } catch (RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+    }
+
+    public void append(Price price) {
+        if (!group.isEmpty()) {
+            int order = BY_GROUP.compare(group.get(0), price);
+            if (order > 0) {
+                throw new IllegalStateException("Las tarifas deben llegar ordenadas por (brandId, productId): "
+                        + price.getBrandId() + "/" + price.getProductId() + " tras "
+                        + group.get(0).getBrandId() + "/" + group.get(0).getProductId());
+            }
+            if (order < 0) {
+                flushGroup();
+            }
+        }
+        group.add(price);
+    }
+
+    public int rowCount() {
+        return rowCount + group.size();
+    }
+
+    /**
+     * Descarta lo escrito sin tocar el destino. Tras abort(), close() no hace nada.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        discardTemp();
+    }
+
+    /**
+     * Completa el snapshot y lo mueve al destino. Solo debe llamarse si todas las tarifas se
+     * han añadido; si la fuente ha fallado, usar abort().
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean moved = false;
+        try {
+            flushGroup();
+            long rowsEnd = channel.position() + buffer.position();
+
+            long groupsOffset = rowsEnd;
+            for (int g = 0; g < groupCount; g++) {
+                ensure(GROUP_BYTES);
+                buffer.putLong(groupKeys[2 * g]);
+                buffer.putLong(groupKeys[2 * g + 1]);
+                buffer.putInt(groupRows[2 * g]);
+                buffer.putInt(groupRows[2 * g + 1]);
+            }
+
+            long currenciesOffset = groupsOffset + (long) groupCount * GROUP_BYTES;
+            for (String currency : currencies.keySet()) {
+                ensure(CURRENCY_BYTES);
+                byte[] code = Arrays.copyOf(currency.getBytes(StandardCharsets.US_ASCII), CURRENCY_BYTES);
+                buffer.put(code);
+            }
+            drain();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            header.putLong(H_MAGIC, MAGIC)
+                    .putInt(H_VERSION, VERSION)
+                    .putInt(H_GROUP_COUNT, groupCount)
+                    .putInt(H_ROW_COUNT, rowCount)
+                    .putInt(H_CURRENCY_COUNT, currencies.size())
+                    .putLong(H_ROWS_OFFSET, HEADER_BYTES)
+                    .putLong(H_GROUPS_OFFSET, groupsOffset)
+                    .putLong(H_CURRENCIES_OFFSET, currenciesOffset);
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el snapshot " + target, e);
+        } finally {
+            if (!moved) {
+                discardTemp();
+            }
+        }
+    }
+
+    private void discardTemp() {
+        try {
+            channel.close();
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // El error original es el relevante
+        }
+    }
+
+    private void flushGroup() {
+        if (group.isEmpty()) {
+            return;
+        }
+        group.sort(BY_PRIORITY);
+
+        if (2 * groupCount + 2 > groupKeys.length) {
+            groupKeys = Arrays.copyOf(groupKeys, groupKeys.length * 2);
+            groupRows = Arrays.copyOf(groupRows, groupRows.length * 2);
+        }
+        groupKeys[2 * groupCount] = group.get(0).getBrandId();
+        groupKeys[2 * groupCount + 1] = group.get(0).getProductId();
+        groupRows[2 * groupCount] = rowCount;
+        groupRows[2 * groupCount + 1] = group.size();
+        groupCount++;
+
+        for (Price price : group) {
+            CompactPrice compact = CompactPrice.from(price);
+            ensure(ROW_BYTES);
+            buffer.putLong(compact.id());
+            buffer.putLong(compact.startEpochSecond());
+            buffer.putLong(compact.endEpochSecond());
+            buffer.putLong(compact.priceList());
+            buffer.putLong(compact.priceUnits());
+            buffer.putInt(price.getPriority());
+            buffer.putInt(currencies.computeIfAbsent(compact.currency(), c -> currencies.size()));
+        }
+        rowCount += group.size();
+        if ((long) rowCount * ROW_BYTES + HEADER_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("El snapshot supera el máximo mapeable de 2 GB");
+        }
+        group.clear();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
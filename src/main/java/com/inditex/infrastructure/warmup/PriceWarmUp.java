@@ -0,0 +1,196 @@
+package com.inditex.infrastructure.warmup;
+
+import com.inditex.application.metrics.PriceMetrics;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceRepository;
+import com.inditex.domain.service.PriceService;
+import com.inditex.infrastructure.controller.PriceController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calentamiento del nodo antes de aceptar tráfico.
+ *
+ * Spring Boot no marca la aplicación como lista (ReadinessState.ACCEPTING_TRAFFIC, expuesto en
+ * /actuator/health/readiness) hasta que terminan los ApplicationRunner, así que mientras dura el
+ * calentamiento el balanceador no envía peticiones al nodo. Fases:
+ *
+ * 1. Claves calientes (brandId, productId): las de pricing.warmup.keys-file si existe (una por línea,
+ *    "brandId,productId", con # para comentarios; p. ej. extraídas de los logs de acceso) o, si no,
+ *    las de la tabla PRICES con más tarifas, hasta pricing.warmup.keys.
+ * 2. Precarga: la línea temporal de cada clave pasa por PriceService, lo que llena la caché de
+ *    precios, y de sus tramos salen las fechas de consulta.
+ * 3. Compilación JIT: pricing.warmup.lookups consultas por PriceController (caso de uso, servicio,
+ *    caché de respuestas y serialización JSON) y pricing.warmup.repository-lookups directas al
+ *    repositorio (camino JDBC de los fallos de caché y de pricing.cache.enabled=false).
+ * 4. Medida: pricing.warmup.sample consultas más por PriceController, ya en caliente.
+ *
+ * La duración se publica como pricing.warmup.duration y la latencia de la fase 4 como
+ * pricing.warmup.latency (p50/p99). Mientras dura, PriceMetrics está suspendido: las consultas
+ * del calentamiento no cuentan en pricing.lookup.*, que solo refleja tráfico real. Un fallo del
+ * calentamiento se registra y no impide arrancar.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pricing.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PriceWarmUp implements ApplicationRunner {
+
+    private final PriceController controller;
+    private final PriceService priceService;
+    private final PriceRepository priceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceMetrics metrics;
+    private final String keysFile;
+    private final int maxKeys;
+    private final int lookups;
+    private final int repositoryLookups;
+    private final int sample;
+    private final Timer latency;
+    private volatile long durationNanos;
+
+    public PriceWarmUp(PriceController controller,
+                       PriceService priceService,
+                       PriceRepository priceRepository,
+                       JdbcTemplate jdbcTemplate,
+                       PriceMetrics metrics,
+                       @Value("${pricing.warmup.keys-file:}") String keysFile,
+                       @Value("${pricing.warmup.keys:100}") int maxKeys,
+                       @Value("${pricing.warmup.lookups:10000}") int lookups,
+                       @Value("${pricing.warmup.repository-lookups:1000}") int repositoryLookups,
+                       @Value("${pricing.warmup.sample:1000}") int sample,
+                       MeterRegistry meterRegistry) {
+        this.controller = controller;
+        this.priceService = priceService;
+        this.priceRepository = priceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.keysFile = keysFile;
+        this.maxKeys = maxKeys;
+        this.lookups = lookups;
+        this.repositoryLookups = repositoryLookups;
+        this.sample = sample;
+        this.latency = Timer.builder("pricing.warmup.latency")
+                .description("Latencia de GET /api/prices medida al terminar el calentamiento")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        TimeGauge.builder("pricing.warmup.duration", this, TimeUnit.NANOSECONDS, warmUp -> warmUp.durationNanos)
+                .description("Duración del calentamiento previo a aceptar tráfico")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        metrics.suspend();
+        try {
+            List<PriceKey> keys = hotKeys();
+            List<PriceQuery> queries = preload(keys);
+            if (queries.isEmpty()) {
+                log.info("🔥 Calentamiento omitido: no hay tarifas que consultar");
+                return;
+            }
+
+            for (int i = 0; i < lookups; i++) {
+                lookup(queries.get(i % queries.size()));
+            }
+            exerciseRepository(queries);
+            for (int i = 0; i < sample; i++) {
+                long lookupStart = System.nanoTime();
+                lookup(queries.get(i % queries.size()));
+                latency.record(System.nanoTime() - lookupStart, TimeUnit.NANOSECONDS);
+            }
+
+            durationNanos = System.nanoTime() - start;
+            log.info("🔥 Calentamiento completado: claves={}, consultas={} en {} ms; latencia p50={} µs, p99={} µs",
+                    keys.size(), lookups + repositoryLookups + sample, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    percentileMicros(0.5), percentileMicros(0.99));
+        } catch (RuntimeException e) {
+            durationNanos = System.nanoTime() - start;
+            log.warn("⚠️ Calentamiento interrumpido tras {} ms: {}", TimeUnit.NANOSECONDS.toMillis(durationNanos), e.getMessage());
+        } finally {
+            metrics.resume();
+        }
+    }
+
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    private List<PriceKey> hotKeys() {
+        if (!keysFile.isBlank()) {
+            Path path = Path.of(keysFile);
+            try {
+                return Files.readAllLines(path).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .map(line -> line.split(","))
+                        .map(fields -> new PriceKey(Long.parseLong(fields[0].trim()), Long.parseLong(fields[1].trim())))
+                        .distinct()
+                        .limit(maxKeys)
+                        .toList();
+            } catch (IOException | RuntimeException e) {
+                log.warn("⚠️ No se pudo leer la lista de claves {} ({}); se usan las de la tabla", path, e.getMessage());
+            }
+        }
+        return jdbcTemplate.query("""
+                        SELECT BRAND_ID, PRODUCT_ID FROM PRICES
+                        GROUP BY BRAND_ID, PRODUCT_ID
+                        ORDER BY COUNT(*) DESC
+                        LIMIT ?
+                        """,
+                (rs, row) -> new PriceKey(rs.getLong("BRAND_ID"), rs.getLong("PRODUCT_ID")), maxKeys);
+    }
+
+    /**
+     * Carga la línea temporal de cada clave y devuelve una consulta por tramo, al inicio de cada uno.
+     */
+    private List<PriceQuery> preload(List<PriceKey> keys) {
+        List<PriceQuery> queries = new ArrayList<>();
+        for (PriceKey key : keys) {
+            for (PriceSegment segment : priceService.getTimeline(key.productId(), key.brandId()).segments()) {
+                queries.add(new PriceQuery(key.productId(), key.brandId(), segment.startDate()));
+            }
+        }
+        return queries;
+    }
+
+    private void exerciseRepository(List<PriceQuery> queries) {
+        for (int i = 0; i < repositoryLookups; i++) {
+            PriceQuery query = queries.get(i % queries.size());
+            priceRepository.findApplicableCompactPrice(query.productId(), query.brandId(),
+                    PriceTimeline.toEpochSecond(query.date()));
+        }
+    }
+
+    private void lookup(PriceQuery query) {
+        controller.getPrice(query.date(), query.productId(), query.brandId(), null, null);
+    }
+
+    private long percentileMicros(double percentile) {
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return Math.round(value.value(TimeUnit.MICROSECONDS));
+            }
+        }
+        return -1;
+    }
+}
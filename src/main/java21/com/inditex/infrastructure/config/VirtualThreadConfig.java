@@ -0,0 +1,44 @@
+package com.inditex.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Ejecución de peticiones con hilos virtuales (Java 21, perfil Maven java21).
+ *
+ * Con pricing.threads.virtual=true Tomcat atiende cada petición en un hilo virtual en lugar de
+ * su pool de hilos de plataforma, y las peticiones asíncronas de Spring MVC (la exportación
+ * NDJSON) usan también hilos virtuales. La concurrencia deja de estar limitada por
+ * server.tomcat.threads.max; el límite real pasa a ser el pool JDBC
+ * (spring.datasource.hikari.maximum-pool-size).
+ *
+ * Las llamadas JDBC sí fijan el hilo portador: en JDK 21 el driver de H2 ejecuta cada sentencia
+ * dentro de bloques synchronized, y un hilo virtual no se desmonta mientras está en ellos. Por eso
+ * la misma propiedad activa BoundedDataSourceConfig, que acota las conexiones prestadas con un
+ * Semaphore del tamaño del pool: los hilos que esperan conexión se aparcan en él sin fijar el
+ * portador, y como mucho hay tantos hilos fijados dentro del driver como conexiones.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "pricing.threads", name = "virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("🧵 Peticiones HTTP atendidas con hilos virtuales");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -11,3 +11,10 @@ CREATE TABLE PRICES (
     PRICE DECIMAL(10,2) NOT NULL,
     CURR VARCHAR(3) NOT NULL
 );
+
+-- Índice de la consulta de precio aplicable: igualdad en marca y producto, rango en fechas.
+-- Incluye el resto de columnas que devuelve la consulta para que se resuelva solo con el índice
+-- (el ID va implícito como clave de fila), sin acceder a la tabla.
+CREATE INDEX IDX_PRICES_LOOKUP ON PRICES (
+    BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRIORITY, PRICE_LIST, PRICE, CURR
+);
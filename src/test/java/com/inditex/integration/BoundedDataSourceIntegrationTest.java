@@ -0,0 +1,57 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.datasource.BoundedDataSource;
+import com.inditex.infrastructure.datasource.DataSourcePoolMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Con pricing.threads.virtual=true las conexiones prestadas se acotan con un Semaphore del tamaño
+ * del pool: quien no consigue permiso espera fuera de Hikari y falla al vencer connection-timeout.
+ */
+@SpringBootTest(properties = {
+        "pricing.threads.virtual=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "pricing.db.pool.monitor-interval-ms=3600000"})
+class BoundedDataSourceIntegrationTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private DataSourcePoolMonitor monitor;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void waitsForAPermitOutsideThePool() throws Exception {
+        assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+        BoundedDataSource bounded = (BoundedDataSource) dataSource;
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThat(bounded.availablePermits()).isZero();
+
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            assertThat(hikari.getHikariPoolMXBean().getThreadsAwaitingConnection()).isZero();
+            monitor.sample();
+            assertThat(monitor.isSaturated()).isTrue();
+
+            first.close();
+            first.close();
+            assertThat(bounded.availablePermits()).isEqualTo(1);
+        }
+
+        assertThat(bounded.availablePermits()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Integer.class)).isPositive();
+        assertThat(bounded.availablePermits()).isEqualTo(2);
+    }
+}
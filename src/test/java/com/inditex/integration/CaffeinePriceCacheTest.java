@@ -0,0 +1,31 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.cache.CaffeinePriceCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeinePriceCacheTest {
+
+    @Test
+    @DisplayName("✔️ La caché respeta el TTL")
+    void expiresAfterTtl() throws InterruptedException {
+        CaffeinePriceCache cache = new CaffeinePriceCache(100, Duration.ofMillis(50));
+        AtomicInteger loads = new AtomicInteger();
+        PriceKey key = new PriceKey(1L, 35455L);
+
+        cache.get(key, k -> { loads.incrementAndGet(); return PriceTimeline.empty(); });
+        cache.get(key, k -> { loads.incrementAndGet(); return PriceTimeline.empty(); });
+        Thread.sleep(100);
+        cache.get(key, k -> { loads.incrementAndGet(); return PriceTimeline.empty(); });
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.datasource.DataSourcePoolMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Métricas de saturación del pool JDBC con un pool de dos conexiones.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "pricing.db.pool.monitor-interval-ms=3600000"})
+class DataSourcePoolMonitorIntegrationTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private DataSourcePoolMonitor monitor;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countsOneEpisodePerSaturation() throws Exception {
+        double episodes = meterRegistry.get("pricing.db.pool.saturated").counter().count();
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            monitor.sample();
+            monitor.sample();
+
+            assertThat(monitor.isSaturated()).isTrue();
+            assertThat(meterRegistry.get("pricing.db.pool.saturation").gauge().value()).isEqualTo(1.0);
+        }
+        monitor.sample();
+
+        assertThat(monitor.isSaturated()).isFalse();
+        assertThat(meterRegistry.get("pricing.db.pool.saturation").gauge().value()).isZero();
+        assertThat(meterRegistry.get("pricing.db.pool.saturated").counter().count()).isEqualTo(episodes + 1);
+    }
+
+    @Test
+    void publishesAcquireTimeHistogram() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Integer.class);
+
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "pricing").timer().count()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", "pricing").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", "pricing").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,96 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.fx.FxRateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/prices?currency=... convierte el importe con la tabla de cambio cargada de un fichero.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class FxConversionIntegrationTest {
+
+    private static final String RATES = """
+            CURR,RATE,DECIMALS
+            EUR,1
+            USD,1.0850
+            JPY,161.20
+            KWD,0.3340
+            """;
+
+    private static Path rates;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private FxRateTable fxRateTable;
+
+    @DynamicPropertySource
+    static void ratesFile(DynamicPropertyRegistry registry) throws IOException {
+        rates = Files.createTempFile("fx-rates", ".csv");
+        rates.toFile().deleteOnExit();
+        Files.writeString(rates, RATES);
+        registry.add("pricing.fx.rates", () -> "file:" + rates);
+    }
+
+    @AfterEach
+    void restoreRates() throws IOException {
+        Files.writeString(rates, RATES);
+        fxRateTable.reload();
+    }
+
+    @Test
+    void convertsWithTargetCurrencyDecimals() throws Exception {
+        // 25.45 EUR
+        priceIn("USD").andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", is(27.61)))
+                .andExpect(jsonPath("$.currency", is("USD")));
+        priceIn("JPY").andExpect(status().isOk()).andExpect(jsonPath("$.price", is(4103)));
+        priceIn("KWD").andExpect(status().isOk()).andExpect(jsonPath("$.price", is(8.5)));
+        priceIn("EUR").andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", is(25.45)))
+                .andExpect(jsonPath("$.currency", is("EUR")));
+    }
+
+    @Test
+    void rejectsCurrencyWithoutRate() throws Exception {
+        priceIn("CHF").andExpect(status().isBadRequest()).andExpect(jsonPath("$.code", is(400)));
+    }
+
+    @Test
+    void swapsRateTableOnReload() throws Exception {
+        long version = fxRateTable.current().version();
+        String etag = priceIn("USD").andReturn().getResponse().getHeader("ETag");
+
+        Files.writeString(rates, RATES.replace("1.0850", "1.2000"));
+        fxRateTable.reload();
+
+        assertThat(fxRateTable.current().version()).isEqualTo(version + 1);
+        ResultActions converted = priceIn("USD").andExpect(jsonPath("$.price", is(30.54)));
+        assertThat(converted.andReturn().getResponse().getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    private ResultActions priceIn(String currency) throws Exception {
+        return mockMvc.perform(get("/api/prices")
+                .param("date", "2020-06-14T16:00:00")
+                .param("productId", "35455")
+                .param("brandId", "1")
+                .param("currency", currency));
+    }
+}
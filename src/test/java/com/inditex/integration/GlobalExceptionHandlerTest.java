@@ -3,6 +3,7 @@ package com.inditex.integration;
 
 
 import com.inditex.domain.exception.PriceNotFoundException;
+import com.inditex.infrastructure.controller.codec.PriceNotEncodableException;
 import com.inditex.infrastructure.controller.exception.GlobalExceptionHandler;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -91,6 +92,16 @@ class GlobalExceptionHandlerTest {
 
 
 
+    @Test
+    @DisplayName("✔️ PriceNotEncodableException -> 406")
+    void handleNotEncodable() {
+        PriceNotEncodableException ex = new PriceNotEncodableException("Escala 19 fuera de 0..18");
+        ResponseEntity<Map<String, Object>> response = handler.handleNotEncodable(ex);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(406);
+        assertThat(response.getBody().get("message").toString()).contains("Escala 19");
+    }
+
     @Test
     @DisplayName("✔️ RuntimeException fallback -> 500")
     void handleRuntime() {
@@ -0,0 +1,197 @@
+package com.inditex.integration;
+
+import com.inditex.application.cache.PriceCache;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.repository.PriceRepository;
+import com.inditex.infrastructure.controller.PriceResponseFactory;
+import com.inditex.infrastructure.repository.memory.InMemoryPriceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ejecuta el endpoint /api/prices con el repositorio en memoria activado (y la caché pedida,
+ * que no se crea delante del índice).
+ */
+@SpringBootTest(properties = {"pricing.repository.type=memory", "pricing.cache.enabled=true"})
+@AutoConfigureMockMvc
+class InMemoryPriceRepositoryIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private PriceRepository priceRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private ApplicationContext context;
+
+    @Test
+    void usesInMemoryRepository() {
+        assertThat(priceRepository).isInstanceOf(InMemoryPriceRepository.class);
+        assertThat(context.getBeanProvider(PriceCache.class).getIfAvailable()).isNull();
+    }
+
+    @Test
+    void changeIsVisibleToTheNextRequest() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/prices")
+                .param("date", "2020-06-14T10:00:00")
+                .param("productId", "99001")
+                .param("brandId", "1");
+        mockMvc.perform(request).andExpect(status().isNotFound());
+        try {
+            mockMvc.perform(post("/api/prices/changes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"changes": [{"operation": "INSERT", "brandId": 1, "productId": 99001,
+                                      "startDate": "2020-01-01T00:00:00", "endDate": "2020-12-31T23:59:59",
+                                      "priceList": 7, "priority": 0, "price": 12.00, "curr": "EUR"}]}
+                                    """))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priceList", is(7)));
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 99001");
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 99001L))));
+        }
+        mockMvc.perform(request).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void resolvesHigherPriorityPrice() throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList", is(2)))
+                .andExpect(jsonPath("$.price", is(25.45)));
+    }
+
+    @Test
+    void returnsNotFoundOutsideAnyRange() throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2019-01-01T00:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void refreshesOnlyChangedGroupsOnEvent() {
+        PriceKey key = new PriceKey(1L, 99001L);
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 7, 99001, 0, 12.00, 'EUR')");
+        try {
+            assertThat(priceRepository.findApplicablePrice(99001L, 1L, date)).isEmpty();
+
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(key)));
+
+            assertThat(priceRepository.findApplicablePrice(99001L, 1L, date)).isPresent();
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 99001");
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(key)));
+        }
+        assertThat(priceRepository.findApplicablePrice(99001L, 1L, date)).isEmpty();
+    }
+
+    @Test
+    void changeFeedRefreshesIndexGroup() throws Exception {
+        try {
+            mockMvc.perform(post("/api/prices/changes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"changes": [{"operation": "INSERT", "brandId": 1, "productId": 99001,
+                                      "startDate": "2020-01-01T00:00:00", "endDate": "2020-12-31T23:59:59",
+                                      "priceList": 7, "priority": 0, "price": 12.00, "curr": "EUR"}]}
+                                    """))
+                    .andExpect(status().isOk());
+
+            assertThat(priceRepository.findApplicablePrice(99001L, 1L, LocalDateTime.parse("2020-06-14T10:00:00")))
+                    .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(7L));
+            assertThat(priceRepository.findApplicablePrice(35455L, 1L, LocalDateTime.parse("2020-06-14T16:00:00")))
+                    .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(2L));
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 99001");
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 99001L))));
+        }
+    }
+
+    @Test
+    void reportsSnapshotVersionThatServedTheResponse() throws Exception {
+        long version = priceRepository.snapshotVersion();
+        assertThat(version).isPositive();
+        priceWithVersion(version);
+
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 99001L))));
+
+        assertThat(priceRepository.snapshotVersion()).isEqualTo(version + 1);
+        priceWithVersion(version + 1);
+    }
+
+    private void priceWithVersion(long version) throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PriceResponseFactory.SNAPSHOT_VERSION_HEADER, String.valueOf(version)));
+    }
+
+    @Test
+    void exportsTimeline() throws Exception {
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(6)))
+                .andExpect(jsonPath("$[1].priceList", is(2)))
+                .andExpect(jsonPath("$[1].startDate", is("2020-06-14T15:00:00")))
+                .andExpect(jsonPath("$[1].endDate", is("2020-06-14T18:30:00")));
+    }
+
+    @Test
+    void resolvesBatchInRequestOrder() {
+        List<Optional<Price>> prices = priceRepository.findApplicablePrices(List.of(
+                new PriceQuery(35455L, 1L, LocalDateTime.parse("2020-06-15T10:00:00")),
+                new PriceQuery(35455L, 2L, LocalDateTime.parse("2020-06-15T10:00:00")),
+                new PriceQuery(35455L, 1L, LocalDateTime.parse("2020-06-14T16:00:00"))));
+
+        assertThat(prices).hasSize(3);
+        assertThat(prices.get(0)).get().extracting(Price::getPriceList).isEqualTo(3L);
+        assertThat(prices.get(1)).isEmpty();
+        assertThat(prices.get(2)).get().extracting(Price::getPriceList).isEqualTo(2L);
+    }
+
+    @Test
+    void streamsApplicablePricesOfBrand() {
+        List<Price> exported = new ArrayList<>();
+        priceRepository.forEachApplicablePrice(1L, LocalDateTime.parse("2020-06-15T10:00:00"), exported::add);
+
+        assertThat(exported).extracting(Price::getPriceList).containsExactly(3L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.repository.snapshot.MappedPriceRepository;
+import com.inditex.infrastructure.repository.snapshot.PriceSnapshotWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con pricing.repository.type=snapshot las consultas salen del fichero mapeado, y el feed de
+ * cambios y la importación responden 409 sin escribir: nada de lo escrito llegaría a verse.
+ */
+@SpringBootTest(properties = {
+        "pricing.repository.type=snapshot",
+        "pricing.snapshot.path=target/test-snapshots/read-only.snapshot"
+})
+@AutoConfigureMockMvc
+class MappedPriceRepositoryIntegrationTest {
+
+    static {
+        PriceSnapshotWriter.write(Path.of("target/test-snapshots/read-only.snapshot"), PriceIntervalIndexTest.samplePrices());
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private MappedPriceRepository repository;
+
+    @Test
+    void servesLookupsFromSnapshot() throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList", is(2)));
+    }
+
+    @Test
+    void segmentEndMatchesTimeline() {
+        PriceTimeline timeline = repository.findTimeline(35455L, 1L);
+        for (String date : List.of("2020-06-14T10:00:00", "2020-06-14T15:00:00", "2020-06-14T18:30:01",
+                "2020-06-15T10:00:00", "2020-06-15T12:00:00", "2020-06-16T21:00:00", "2021-01-01T00:00:00")) {
+            long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse(date));
+
+            assertThat(repository.findApplicableSegment(35455L, 1L, epochSecond)).as(date).isEqualTo(timeline.findSegment(epochSecond));
+        }
+    }
+
+    @Test
+    void rejectsChangesThatWouldNeverBeVisible() throws Exception {
+        mockMvc.perform(post("/api/prices/changes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"changes": [{"operation": "INSERT", "brandId": 1, "productId": 99004,
+                                  "startDate": "2020-01-01T00:00:00", "endDate": "2020-12-31T23:59:59",
+                                  "priceList": 7, "priority": 0, "price": 12.00, "curr": "EUR"}]}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code", is(409)));
+
+        mockMvc.perform(post("/api/prices/import")
+                        .contentType("text/csv")
+                        .content("BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR\n"
+                                + "1,2020-01-01 00:00:00,2020-12-31 23:59:59,7,99004,0,12.00,EUR\n"))
+                .andExpect(status().isConflict());
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = 99004", Integer.class);
+        assertThat(rows).isZero();
+        assertThat(meterRegistry.get("pricing.changes.visibility.lag").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.async.PriceLookupPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con el pool priceLookup ocupado y su cola llena, GET /api/prices/async responde 503 al instante;
+ * con hueco en la cola pero sin hilo libre, responde 503 al vencer pricing.async.queue-timeout.
+ */
+@SpringBootTest(properties = {"pricing.async.threads=1", "pricing.async.queue-capacity=1", "pricing.async.queue-timeout=200ms"})
+@AutoConfigureMockMvc
+class PriceAsyncBackpressureTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private PriceLookupPool priceLookupPool;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void mvcAsyncRequestsRunOnTheBoundedApplicationTaskExecutor() {
+        // El pool priceLookup no debe desplazar a applicationTaskExecutor (exportación NDJSON, etc.)
+        Object mvcExecutor = ReflectionTestUtils.getField(handlerAdapter, "taskExecutor");
+
+        assertThat(mvcExecutor)
+                .isNotInstanceOf(SimpleAsyncTaskExecutor.class)
+                .isInstanceOf(ThreadPoolTaskExecutor.class);
+    }
+
+    @Test
+    void rejectsWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        // Un hilo ocupado y la única plaza de la cola tomada
+        priceLookupPool.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await();
+        priceLookupPool.execute(() -> awaitQuietly(release));
+
+        try {
+            mockMvc.perform(get("/api/prices/async")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value(503));
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(meterRegistry.get("pricing.async.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shedsQueuedLookupWhenItsDeadlineExpires() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        double expired = meterRegistry.get("pricing.async.expired").counter().count();
+        priceLookupPool.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await();
+
+        try {
+            MvcResult queued = mockMvc.perform(get("/api/prices/async")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(queued))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value(503));
+            // La consulta vencida sale de la cola y deja su plaza libre
+            assertThat(meterRegistry.get("executor.queued").tag("name", "priceLookup").gauge().value()).isZero();
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(meterRegistry.get("pricing.async.expired").counter().count()).isEqualTo(expired + 1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
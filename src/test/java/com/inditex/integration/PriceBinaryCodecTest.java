@@ -0,0 +1,68 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import com.inditex.infrastructure.controller.codec.PriceNotEncodableException;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Ida y vuelta del formato binario con importes convertidos de distintas escalas.
+ */
+class PriceBinaryCodecTest {
+
+    private static PriceResponseDto price(String amount, String currency) {
+        return new PriceResponseDto(35455L, 1L, 2L,
+                LocalDateTime.parse("2020-06-14T15:00:00"), LocalDateTime.parse("2020-06-14T18:30:00"),
+                new BigDecimal(amount), currency);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "25.45,      EUR, 25.45",
+            "25.4,       EUR, 25.40",
+            "3200,       JPY, 3200",
+            "3.2E+3,     JPY, 3200",
+            "3200.00,    JPY, 3200",
+            "7.825,      KWD, 7.825",
+            "7.8,        KWD, 7.800",
+            "7.82512,    KWD, 7.82512"
+    })
+    @DisplayName("✔️ Normaliza la escala a los decimales de la moneda sin perder precisión")
+    void roundTripsWithCurrencyScale(String amount, String currency, String expected) {
+        PriceResponseDto decoded = PriceBinaryCodec.decode(PriceBinaryCodec.encode(price(amount, currency)));
+
+        assertThat(decoded.price()).isEqualTo(new BigDecimal(expected));
+        assertThat(decoded.price().scale()).isEqualTo(new BigDecimal(expected).scale());
+        assertThat(decoded.currency()).isEqualTo(currency);
+        assertThat(decoded.startDate()).isEqualTo(LocalDateTime.parse("2020-06-14T15:00:00"));
+        assertThat(decoded.endDate()).isEqualTo(LocalDateTime.parse("2020-06-14T18:30:00"));
+    }
+
+    @Test
+    @DisplayName("✔️ Rechaza con IllegalArgumentException lo que no cabe en el formato")
+    void rejectsWhatDoesNotFit() {
+        assertThatThrownBy(() -> PriceBinaryCodec.encode(price("0.0000000000000000001", "EUR")))
+                .isInstanceOf(PriceNotEncodableException.class)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Escala 19");
+        assertThatThrownBy(() -> PriceBinaryCodec.encode(price("1E+30", "EUR")))
+                .isInstanceOf(PriceNotEncodableException.class);
+        assertThatThrownBy(() -> PriceBinaryCodec.encode(price("1.00", "ZZZ")))
+                .isInstanceOf(PriceNotEncodableException.class);
+
+        byte[] body = PriceBinaryCodec.encode(price("25.45", "EUR"));
+        body[body.length - 4] = 19;
+        assertThatThrownBy(() -> PriceBinaryCodec.decode(body))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Escala");
+    }
+}
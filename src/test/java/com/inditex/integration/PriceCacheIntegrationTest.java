@@ -0,0 +1,100 @@
+package com.inditex.integration;
+
+import com.inditex.application.cache.PriceCache;
+import com.inditex.application.cache.PriceCacheStats;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.model.PriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la caché de lectura delante de PriceRepository.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PriceCacheIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private PriceCache priceCache;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void clearCache() {
+        priceCache.invalidateAll();
+    }
+
+    private void getPrice(String date, String productId, int expectedStatus) throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", date)
+                        .param("productId", productId)
+                        .param("brandId", "1"))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    @Test
+    @DisplayName("✔️ Fechas del mismo producto se sirven desde la línea temporal cacheada")
+    void servesSameProductFromCache() throws Exception {
+        PriceCacheStats before = priceCache.stats();
+
+        getPrice("2020-06-14T10:00:00", "35455", 200);
+        getPrice("2020-06-14T16:00:00", "35455", 200);
+        getPrice("2020-06-16T21:00:00", "35455", 200);
+
+        PriceCacheStats after = priceCache.stats();
+        assertThat(after.misses() - before.misses()).isEqualTo(1);
+        assertThat(after.hits() - before.hits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✔️ Los resultados negativos también se cachean")
+    void cachesNotFound() throws Exception {
+        PriceCacheStats before = priceCache.stats();
+
+        getPrice("2020-06-14T10:00:00", "99999", 404);
+        getPrice("2020-06-14T10:00:00", "99999", 404);
+        getPrice("2019-01-01T00:00:00", "35455", 404);
+        getPrice("2019-01-01T00:00:00", "35455", 404);
+
+        PriceCacheStats after = priceCache.stats();
+        assertThat(after.misses() - before.misses()).isEqualTo(2);
+        assertThat(after.hits() - before.hits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✔️ PricesChangedEvent invalida solo los grupos afectados")
+    void invalidatesOnChange() throws Exception {
+        getPrice("2020-06-14T10:00:00", "35455", 200);
+        getPrice("2020-06-14T10:00:00", "99999", 404);
+        assertThat(priceCache.stats().size()).isEqualTo(2);
+
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 35455L))));
+
+        assertThat(priceCache.stats().size()).isEqualTo(1);
+        PriceCacheStats before = priceCache.stats();
+        getPrice("2020-06-14T10:00:00", "35455", 200);
+        assertThat(priceCache.stats().misses() - before.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✔️ Los contadores se publican en /actuator/metrics")
+    void exposesMetrics() throws Exception {
+        getPrice("2020-06-14T10:00:00", "35455", 200);
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:prices"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:prices"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,116 @@
+package com.inditex.integration;
+
+import com.inditex.application.cache.PriceCache;
+import com.inditex.application.usecase.GetApplicablePriceUseCase;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceShardRouter;
+import com.inditex.domain.service.PriceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índice en memoria (sharded) con la caché delante: el índice se publica antes de que se invalide
+ * la caché, así que nadie puede recargar en caché la línea temporal del índice anterior.
+ *
+ * Un listener de orden intermedio hace de lector concurrente: cuando le llega PricesChangedEvent
+ * el índice ya debe tener la tarifa nueva, y lo que cargue en caché no puede quedar obsoleto.
+ * Con la caché delante, la versión de snapshot anunciada es la de la línea temporal cacheada.
+ */
+@SpringBootTest(properties = {
+        "pricing.repository.type=sharded",
+        "pricing.sharding.shards=2",
+        "pricing.cache.enabled=true",
+        "pricing.warmup.enabled=false"
+})
+class PriceCacheInvalidationOrderIntegrationTest {
+
+    private static final long PRODUCT_ID = 99002L;
+    private static final LocalDateTime DATE = LocalDateTime.parse("2020-06-14T10:00:00");
+
+    @Autowired private PriceService priceService;
+    @Autowired private PriceCache priceCache;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private ReaderDuringInvalidation reader;
+    @Autowired private GetApplicablePriceUseCase useCase;
+    @Autowired private PriceShardRouter router;
+
+    @TestConfiguration
+    static class ConcurrentReader {
+
+        @Bean
+        ReaderDuringInvalidation readerDuringInvalidation(@Lazy PriceShardRouter router, @Lazy PriceService priceService) {
+            return new ReaderDuringInvalidation(router, priceService);
+        }
+    }
+
+    static class ReaderDuringInvalidation {
+
+        private final PriceShardRouter router;
+        private final PriceService priceService;
+        private final List<Boolean> indexHadPrice = new CopyOnWriteArrayList<>();
+
+        ReaderDuringInvalidation(PriceShardRouter router, PriceService priceService) {
+            this.router = router;
+            this.priceService = priceService;
+        }
+
+        @EventListener
+        @Order(0)
+        public void onPricesChanged(PricesChangedEvent event) {
+            for (PriceKey key : event.keys()) {
+                indexHadPrice.add(router.shardFor(key.brandId(), key.productId())
+                        .findApplicablePrice(key.productId(), key.brandId(), DATE).isPresent());
+                priceService.getTimeline(key.productId(), key.brandId());
+            }
+        }
+    }
+
+    @Test
+    void reportsTheSnapshotVersionOfTheCachedTimeline() {
+        long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T16:00:00"));
+        priceCache.invalidate(Set.of(new PriceKey(1L, 35455L)));
+        long version = router.shardFor(1L, 35455L).snapshotVersion();
+
+        assertThat(version).isPositive();
+        assertThat(useCase.executeVersioned(35455L, 1L, epochSecond, false).snapshotVersion()).isEqualTo(version);
+        assertThat(useCase.executeVersioned(35455L, 1L, epochSecond, true).snapshotVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void indexIsSwappedBeforeTheCacheIsInvalidated() {
+        PriceKey key = new PriceKey(1L, PRODUCT_ID);
+        priceCache.invalidateAll();
+        assertThat(priceService.getTimeline(PRODUCT_ID, 1L).find(DATE)).isEmpty();
+
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 7, 99002, 0, 12.00, 'EUR')");
+        try {
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(key)));
+
+            assertThat(reader.indexHadPrice).containsExactly(true);
+            assertThat(priceService.getTimeline(PRODUCT_ID, 1L).find(DATE)).isPresent();
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 99002");
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(key)));
+        }
+        assertThat(priceService.getTimeline(PRODUCT_ID, 1L).find(DATE)).isEmpty();
+    }
+}
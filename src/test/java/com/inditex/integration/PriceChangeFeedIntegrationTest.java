@@ -0,0 +1,213 @@
+package com.inditex.integration;
+
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.service.PriceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Feed de ingesta POST /api/prices/changes con el repositorio JPA y la caché activada:
+ * cada lote debe verse en la siguiente consulta sin recargar nada más que su grupo, y de una vez:
+ * un lector que consulta mientras se invalida la caché ve todos los grupos del lote o ninguno.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PriceChangeFeedIntegrationTest {
+
+    private static final long PRODUCT_ID = 99002L;
+    private static final long OTHER_PRODUCT_ID = 99003L;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private PriceService priceService;
+    @Autowired private ReaderDuringInvalidation reader;
+
+    @TestConfiguration
+    static class ConcurrentReader {
+
+        @Bean
+        ReaderDuringInvalidation readerDuringInvalidation(@Lazy PriceService priceService) {
+            return new ReaderDuringInvalidation(priceService);
+        }
+    }
+
+    /**
+     * Lee los grupos del lote tras el commit y antes de que la caché los invalide.
+     */
+    static class ReaderDuringInvalidation {
+
+        private final PriceService priceService;
+        private final Map<Long, Boolean> found = new ConcurrentHashMap<>();
+        private volatile boolean armed;
+
+        ReaderDuringInvalidation(PriceService priceService) {
+            this.priceService = priceService;
+        }
+
+        @EventListener
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public void onPricesChanged(PricesChangedEvent event) {
+            if (armed) {
+                armed = false;
+                for (long productId : List.of(OTHER_PRODUCT_ID, PRODUCT_ID)) {
+                    found.put(productId, priceService.getTimeline(productId, 1L)
+                            .find(LocalDateTime.parse("2020-06-14T16:00:00")).isPresent());
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID IN (?, ?)", PRODUCT_ID, OTHER_PRODUCT_ID);
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, PRODUCT_ID), new PriceKey(1L, OTHER_PRODUCT_ID))));
+    }
+
+    @Test
+    void batchBecomesVisibleAtOnceWhileTheCacheIsInvalidated() throws Exception {
+        // Solo el primer producto tiene su línea temporal (vacía) en caché
+        assertThat(priceService.getTimeline(PRODUCT_ID, 1L).isEmpty()).isTrue();
+
+        reader.found.clear();
+        reader.armed = true;
+        changes("""
+                [{"operation": "INSERT", "brandId": 1, "productId": 99002, "startDate": "2020-01-01T00:00:00",
+                  "endDate": "2020-12-31T23:59:59", "priceList": 1, "priority": 0, "price": 20.00, "curr": "EUR"},
+                 {"operation": "INSERT", "brandId": 1, "productId": 99003, "startDate": "2020-01-01T00:00:00",
+                  "endDate": "2020-12-31T23:59:59", "priceList": 1, "priority": 0, "price": 20.00, "curr": "EUR"}]
+                """).andExpect(status().isOk());
+
+        assertThat(reader.found).containsEntry(PRODUCT_ID, true).containsEntry(OTHER_PRODUCT_ID, true);
+        priceListAt("2020-06-14T16:00:00", 1);
+    }
+
+    @Test
+    void appliesInsertUpdateAndDeleteIncrementally() throws Exception {
+        // Tarifa base todo el año: la caché guarda su línea temporal
+        changes("""
+                [{"operation": "INSERT", "brandId": 1, "productId": 99002, "startDate": "2020-01-01T00:00:00",
+                  "endDate": "2020-12-31T23:59:59", "priceList": 1, "priority": 0, "price": 20.00, "curr": "EUR"}]
+                """).andExpect(status().isOk()).andExpect(jsonPath("$.applied", is(1))).andExpect(jsonPath("$.groups", is(1)));
+        priceListAt("2020-06-14T16:00:00", 1);
+
+        // Promoción de 15:00 a 18:30
+        changes("""
+                [{"operation": "INSERT", "brandId": 1, "productId": 99002, "startDate": "2020-06-14T15:00:00",
+                  "endDate": "2020-06-14T18:30:00", "priceList": 2, "priority": 1, "price": 15.00, "curr": "EUR"}]
+                """).andExpect(status().isOk());
+        priceListAt("2020-06-14T16:00:00", 2);
+        priceListAt("2020-06-14T19:00:00", 1);
+
+        // Se alarga la promoción hasta las 20:00
+        Long promoId = jdbcTemplate.queryForObject(
+                "SELECT ID FROM PRICES WHERE PRODUCT_ID = ? AND PRICE_LIST = 2", Long.class, PRODUCT_ID);
+        changes("""
+                [{"operation": "UPDATE", "id": %d, "brandId": 1, "productId": 99002, "startDate": "2020-06-14T15:00:00",
+                  "endDate": "2020-06-14T20:00:00", "priceList": 2, "priority": 1, "price": 15.00, "curr": "EUR"}]
+                """.formatted(promoId)).andExpect(status().isOk());
+        priceListAt("2020-06-14T19:00:00", 2);
+
+        // Se retira la promoción
+        changes("""
+                [{"operation": "DELETE", "id": %d}]
+                """.formatted(promoId)).andExpect(status().isOk());
+        priceListAt("2020-06-14T16:00:00", 1);
+
+        assertThat(meterRegistry.get("pricing.changes.visibility.lag").timer().count()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void rejectsWholeBatchWhenARowDoesNotExist() throws Exception {
+        changes("""
+                [{"operation": "INSERT", "brandId": 1, "productId": 99002, "startDate": "2020-01-01T00:00:00",
+                  "endDate": "2020-12-31T23:59:59", "priceList": 1, "priority": 0, "price": 20.00, "curr": "EUR"},
+                 {"operation": "DELETE", "id": 987654321}]
+                """).andExpect(status().isNotFound()).andExpect(jsonPath("$.code", is(404)));
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = ?", Integer.class, PRODUCT_ID);
+        assertThat(rows).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"operation\": \"DELETE\"}]",
+            "[{\"operation\": \"INSERT\", \"brandId\": 1}]",
+            "[{\"operation\": \"UPDATE\", \"brandId\": 1, \"productId\": 99002, \"startDate\": \"2020-01-01T00:00:00\","
+                    + " \"endDate\": \"2020-12-31T23:59:59\", \"priceList\": 1, \"priority\": 0, \"price\": 20.00, \"curr\": \"EUR\"}]",
+            "[]"
+    })
+    void rejectsInconsistentChanges(String changes) throws Exception {
+        changes(changes).andExpect(status().isBadRequest()).andExpect(jsonPath("$.code", is(400)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "\"startDate\": \"2020-12-31T00:00:00\", \"endDate\": \"2020-01-01T00:00:00\", \"price\": 20.00, \"curr\": \"EUR\"",
+            "\"startDate\": \"2020-01-01T00:00:00\", \"endDate\": \"2020-12-31T23:59:59\", \"price\": -1.00, \"curr\": \"EUR\"",
+            "\"startDate\": \"2020-01-01T00:00:00\", \"endDate\": \"2020-12-31T23:59:59\", \"price\": 10.001, \"curr\": \"EUR\"",
+            "\"startDate\": \"2020-01-01T00:00:00\", \"endDate\": \"2020-12-31T23:59:59\", \"price\": 123456789.00, \"curr\": \"EUR\"",
+            "\"startDate\": \"2020-01-01T00:00:00\", \"endDate\": \"2020-12-31T23:59:59\", \"price\": 20.00, \"curr\": \"EURO\""
+    })
+    void rejectsPricesThatBreakConstraintsWithoutApplyingTheBatch(String fields) throws Exception {
+        changes("""
+                [{"operation": "INSERT", "brandId": 1, "productId": 99002, "startDate": "2020-01-01T00:00:00",
+                  "endDate": "2020-12-31T23:59:59", "priceList": 1, "priority": 0, "price": 20.00, "curr": "EUR"},
+                 {"operation": "INSERT", "brandId": 1, "productId": 99002, "priceList": 2, "priority": 1, %s}]
+                """.formatted(fields))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(400)))
+                .andExpect(jsonPath("$.message", startsWith("Cambio 2: ")));
+
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = ?", Integer.class, PRODUCT_ID);
+        assertThat(rows).isZero();
+    }
+
+    private ResultActions changes(String changes) throws Exception {
+        return mockMvc.perform(post("/api/prices/changes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sourceTimestamp\": \"2020-06-14T12:00:00Z\", \"changes\": " + changes + "}"));
+    }
+
+    private void priceListAt(String date, int priceList) throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", date)
+                        .param("productId", String.valueOf(PRODUCT_ID))
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList", is(priceList)));
+    }
+}
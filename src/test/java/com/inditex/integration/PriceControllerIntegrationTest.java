@@ -1,19 +1,30 @@
 package com.inditex.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.infrastructure.controller.PriceResponseFactory;
 import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -30,6 +41,7 @@ class PriceControllerIntegrationTest {
 
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
+    @Autowired private JpaPriceRepository repository;
 
     /**
      * Ejecuta una consulta contra el endpoint de precios y muestra en consola:
@@ -47,6 +59,7 @@ class PriceControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.price", is(expectedPrice.doubleValue())))
                 .andExpect(jsonPath("$.priceList", is((int) expectedTariff)))
+                .andExpect(header().doesNotExist(PriceResponseFactory.SNAPSHOT_VERSION_HEADER))
                 .andReturn();
 
         String json = result.getResponse().getContentAsString();
@@ -143,4 +156,242 @@ class PriceControllerIntegrationTest {
         System.out.println("✅ Resultado esperado: 400 Bad Request\n");
     }
 
+    @Test
+    void test10_timeline() throws Exception {
+        // Línea temporal aplanada: 1 | 2 | 1 | 3 | 1 | 4
+        System.out.println("🔍 Test 10 | Línea temporal de producto=35455, marca=1");
+
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(6)))
+                .andExpect(jsonPath("$[3].priceList", is(3)))
+                .andExpect(jsonPath("$[5].priceList", is(4)));
+
+        System.out.println("✅ Resultado esperado: 6 tramos\n");
+    }
+
+    @Test
+    void test11_batch() throws Exception {
+        // Lote con los escenarios 1, 2 y 5 más una línea sin precio, en ese orden
+        System.out.println("🔍 Test 11 | Consulta por lotes de 4 líneas");
+
+        String body = """
+                {"items": [
+                  {"productId": 35455, "brandId": 1, "date": "2020-06-14T10:00:00"},
+                  {"productId": 35455, "brandId": 1, "date": "2020-06-14T16:00:00"},
+                  {"productId": 99999, "brandId": 1, "date": "2020-06-14T10:00:00"},
+                  {"productId": 35455, "brandId": 1, "date": "2020-06-16T21:00:00"}
+                ]}
+                """;
+
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].price.priceList", is(1)))
+                .andExpect(jsonPath("$[1].price.priceList", is(2)))
+                .andExpect(jsonPath("$[2].found", is(false)))
+                .andExpect(jsonPath("$[2].productId", is(99999)))
+                .andExpect(jsonPath("$[3].price.price", is(38.95)));
+
+        System.out.println("✅ Resultado esperado: tarifas 1, 2, sin precio, 4\n");
+    }
+
+    @Test
+    void test12_batchValidation() throws Exception {
+        // Línea sin productId → 400
+        System.out.println("❌ Test 12 | Lote con una línea incompleta → debe devolver 400 Bad Request");
+
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": [{\"brandId\": 1, \"date\": \"2020-06-14T10:00:00\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("productId")));
+
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest());
+
+        System.out.println("✅ Resultado esperado: 400 Bad Request\n");
+    }
+
+    @Test
+    void test13_exportNdjson() throws Exception {
+        // Exportación de la marca 1 a las 16:00 del día 14 → una línea, tarifa 2
+        System.out.println("🔍 Test 13 | Exportación NDJSON de marca=1, fecha=2020-06-14T16:00:00");
+
+        MvcResult started = mockMvc.perform(get("/api/prices/export")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("brandId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        PriceResponseDto dto = objectMapper.readValue(lines[0], PriceResponseDto.class);
+        assertThat(lines).hasSize(1);
+        assertThat(dto.priceList()).isEqualTo(2L);
+
+        System.out.println("📦 Línea exportada → " + lines[0] + "\n");
+    }
+
+
+    @Test
+    void test14_asyncEndpoint() throws Exception {
+        // Misma resolución que GET /api/prices, completada desde el pool priceLookup
+        System.out.println("🔍 Test 14 | Variante asíncrona: producto=35455, marca=1, fecha=2020-06-14T16:00:00");
+
+        MvcResult started = mockMvc.perform(get("/api/prices/async")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(2))
+                .andExpect(jsonPath("$.price").value(25.45));
+    }
+
+    @Test
+    void test15_asyncEndpointNotFound() throws Exception {
+        System.out.println("🔍 Test 15 | Variante asíncrona sin precio: producto=99999");
+
+        MvcResult started = mockMvc.perform(get("/api/prices/async")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "99999")
+                        .param("brandId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404));
+    }
+
+    @Test
+    void test16_timelineRange() throws Exception {
+        // Del 14 a las 16:00 al 15 a las 12:00: tramos 2 | 1 | 3 | 1 recortados al rango
+        System.out.println("🔍 Test 16 | Línea temporal de producto=35455 entre dos instantes");
+
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("from", "2020-06-14T16:00:00")
+                        .param("to", "2020-06-15T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].priceList", is(2)))
+                .andExpect(jsonPath("$[0].startDate", is("2020-06-14T16:00:00")))
+                .andExpect(jsonPath("$[0].priceStartDate", is("2020-06-14T15:00:00")))
+                .andExpect(jsonPath("$[2].priceList", is(3)))
+                .andExpect(jsonPath("$[3].priceList", is(1)))
+                .andExpect(jsonPath("$[3].endDate", is("2020-06-15T12:00:00")));
+
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("to", "2020-06-13T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+
+        System.out.println("✅ Resultado esperado: 4 tramos recortados y ninguno antes del 14\n");
+    }
+
+    @Test
+    void test17_pricesAtInstants() throws Exception {
+        // Los 5 instantes del enunciado desordenados más uno sin precio
+        System.out.println("🔍 Test 17 | Precio de producto=35455 en 6 instantes con una sola petición");
+
+        String body = """
+                {"productId": 35455, "brandId": 1, "dates": [
+                  "2020-06-16T21:00:00", "2020-06-14T10:00:00", "2019-01-01T00:00:00",
+                  "2020-06-15T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00"
+                ]}
+                """;
+
+        mockMvc.perform(post("/api/prices/instants")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(6)))
+                .andExpect(jsonPath("$[0].price.priceList", is(4)))
+                .andExpect(jsonPath("$[1].price.priceList", is(1)))
+                .andExpect(jsonPath("$[2].found", is(false)))
+                .andExpect(jsonPath("$[2].date", is("2019-01-01T00:00:00")))
+                .andExpect(jsonPath("$[3].price.priceList", is(3)))
+                .andExpect(jsonPath("$[4].price.priceList", is(2)))
+                .andExpect(jsonPath("$[5].price.priceList", is(1)));
+
+        System.out.println("✅ Resultado esperado: tarifas 4, 1, sin precio, 3, 2, 1\n");
+    }
+
+    @Test
+    void test18_pricesAtInstantsValidation() throws Exception {
+        System.out.println("❌ Test 18 | Instantes sin fechas → debe devolver 400 Bad Request");
+
+        mockMvc.perform(post("/api/prices/instants")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\": 35455, \"brandId\": 1, \"dates\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+    }
+
+    @Test
+    void test19_timelineRangeValidation() throws Exception {
+        System.out.println("❌ Test 19 | Línea temporal con from posterior a to → debe devolver 400 Bad Request");
+
+        mockMvc.perform(get("/api/prices/timeline")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .param("from", "2020-06-15T12:00:00")
+                        .param("to", "2020-06-14T16:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+    }
+
+    @Test
+    void test20_fractionalSecondsUseSecondResolution() throws Exception {
+        // La tarifa 2 termina a las 18:30:00; a las 18:30:00.5 sigue aplicando en todos los caminos
+        System.out.println("🔍 Test 20 | Precio de producto=35455 a las 18:30:00.5 con resolución de segundo");
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T18:30:00.500")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList", is(2)));
+
+        MvcResult started = mockMvc.perform(get("/api/prices/export")
+                        .param("date", "2020-06-14T18:30:00.500")
+                        .param("brandId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String line = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n")[0];
+        assertThat(objectMapper.readValue(line, PriceResponseDto.class).priceList()).isEqualTo(2L);
+
+        assertThat(repository.findApplicablePrice(35455L, 1L, LocalDateTime.parse("2020-06-14T18:30:00.500")))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(2L));
+
+        // Lote con una sola consulta: el rango de la SELECT no puede dejar fuera la tarifa que termina a las 23:59:59
+        mockMvc.perform(post("/api/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [{"productId": 35455, "brandId": 1, "date": "2020-12-31T23:59:59.500"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].found", is(true)))
+                .andExpect(jsonPath("$[0].price.priceList", is(4)));
+    }
 }
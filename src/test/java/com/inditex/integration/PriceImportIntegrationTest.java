@@ -0,0 +1,95 @@
+package com.inditex.integration;
+
+import com.inditex.domain.event.PricesReloadedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importación masiva POST /api/prices/import con batches pequeños para forzar varios viajes,
+ * el índice en memoria y la caché activada: tras importar, las consultas ven las tarifas nuevas.
+ */
+@SpringBootTest(properties = {"pricing.repository.type=memory", "pricing.import.batch-size=2"})
+@AutoConfigureMockMvc
+class PriceImportIntegrationTest {
+
+    private static final String HEADER = "BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR\n";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void cleanUp() {
+        int deleted = jdbcTemplate.update("DELETE FROM PRICES WHERE BRAND_ID = 99");
+        eventPublisher.publishEvent(new PricesReloadedEvent(deleted));
+    }
+
+    @Test
+    void importsValidRowsAndReportsRejectedOnes() throws Exception {
+        // La consulta previa deja un 404 y, con caché, una línea temporal vacía que la importación debe invalidar
+        mockMvc.perform(get("/api/prices").param("date", "2020-06-14T16:00:00").param("productId", "1").param("brandId", "99"))
+                .andExpect(status().isNotFound());
+
+        importCsv(HEADER
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,1,1,0,20.00,EUR\n"
+                + "99,2020-06-14-15.00.00,2020-06-14-18.30.00,2,1,1,15.50,EUR\n"
+                + "99,2020-01-01T00:00:00,2020-12-31T23:59:59,1,2,0,9.99,USD\n"
+                + "\n"
+                + "99,2020-12-31 00:00:00,2020-01-01 00:00:00,1,3,0,10.00,EUR\n"
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,1,4,0,-1.00,EUR\n"
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,1,5,0,10.00,XYZ\n"
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,1,6,0,10.001,EUR\n"
+                + "99,2020-01-01,2020-12-31 23:59:59,1,7,0,10.00,EUR\n"
+                + "99,ayer,2020-12-31 23:59:59,1,8,0,10.00,EUR\n"
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,uno,9,0,10.00,EUR\n"
+                + "99,2020-01-01 00:00:00,2020-12-31 23:59:59,1,10,0,10.00\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read", is(11)))
+                .andExpect(jsonPath("$.imported", is(3)))
+                .andExpect(jsonPath("$.rejected", is(8)))
+                .andExpect(jsonPath("$.errors", hasSize(8)))
+                .andExpect(jsonPath("$.errors[0].line", is(6)))
+                .andExpect(jsonPath("$.errors[0].reason", containsString("START_DATE")))
+                .andExpect(jsonPath("$.rowsPerSecond", greaterThanOrEqualTo(0)));
+
+        priceAt("2020-06-14T16:00:00", 1, "15.5");
+        priceAt("2020-06-14T19:00:00", 1, "20.0");
+        priceAt("2020-06-14T19:00:00", 2, "9.99");
+    }
+
+    @Test
+    void rejectsFileWithoutExpectedHeader() throws Exception {
+        importCsv("PRODUCT_ID,PRICE\n1,10.00\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(400)));
+    }
+
+    private ResultActions importCsv(String csv) throws Exception {
+        return mockMvc.perform(post("/api/prices/import").contentType("text/csv").content(csv));
+    }
+
+    private void priceAt(String date, int productId, String price) throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", date)
+                        .param("productId", String.valueOf(productId))
+                        .param("brandId", "99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", is(Double.parseDouble(price))));
+    }
+}
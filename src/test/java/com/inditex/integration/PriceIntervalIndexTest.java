@@ -0,0 +1,218 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.repository.memory.PriceIntervalIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests del índice en memoria y de la línea temporal aplanada con las tarifas de ejemplo de data.sql.
+ */
+class PriceIntervalIndexTest {
+
+    static List<Price> samplePrices() {
+        return List.of(
+                price(1L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 1L, 0, "35.50"),
+                price(2L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 2L, 1, "25.45"),
+                price(3L, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 3L, 1, "30.50"),
+                price(4L, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 4L, 1, "38.95")
+        );
+    }
+
+    static Price price(Long id, String start, String end, Long priceList, int priority, String amount) {
+        return Price.builder()
+                .id(id)
+                .brandId(1L)
+                .productId(35455L)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .priceList(priceList)
+                .priority(priority)
+                .price(new BigDecimal(amount))
+                .curr("EUR")
+                .build();
+    }
+
+    private final PriceIntervalIndex index = PriceIntervalIndex.build(1, samplePrices());
+
+    private Long priceListAt(String date) {
+        return index.find(35455L, 1L, LocalDateTime.parse(date)).map(Price::getPriceList).orElse(null);
+    }
+
+    @Test
+    @DisplayName("✔️ Resuelve los cinco escenarios del enunciado")
+    void resolvesSampleScenarios() {
+        assertThat(priceListAt("2020-06-14T10:00:00")).isEqualTo(1L);
+        assertThat(priceListAt("2020-06-14T16:00:00")).isEqualTo(2L);
+        assertThat(priceListAt("2020-06-14T21:00:00")).isEqualTo(1L);
+        assertThat(priceListAt("2020-06-15T10:00:00")).isEqualTo(3L);
+        assertThat(priceListAt("2020-06-16T21:00:00")).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("✔️ Los extremos de cada tarifa son inclusivos")
+    void boundariesAreInclusive() {
+        assertThat(priceListAt("2020-06-14T15:00:00")).isEqualTo(2L);
+        assertThat(priceListAt("2020-06-14T18:30:00")).isEqualTo(2L);
+        assertThat(priceListAt("2020-06-14T18:30:01")).isEqualTo(1L);
+        assertThat(priceListAt("2020-12-31T23:59:59")).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("✔️ Sin tarifa fuera de rango o para claves inexistentes")
+    void emptyWhenNothingApplies() {
+        assertThat(priceListAt("2019-01-01T00:00:00")).isNull();
+        assertThat(priceListAt("2021-01-01T00:00:00")).isNull();
+        assertThat(index.find(99999L, 1L, LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+        assertThat(index.find(35455L, 999L, LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✔️ Estadísticas del índice")
+    void exposesStats() {
+        assertThat(index.rowCount()).isEqualTo(4);
+        assertThat(index.groupCount()).isEqualTo(1);
+        // 1 | 2 | 1 | 3 | 1 | 4
+        assertThat(index.segmentCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("✔️ Exporta los tramos aplanados sin solapes")
+    void exportsFlattenedTimeline() {
+        List<PriceSegment> segments = index.timeline(35455L, 1L).segments();
+
+        assertThat(segments).extracting(s -> s.price().getPriceList()).containsExactly(1L, 2L, 1L, 3L, 1L, 4L);
+        assertThat(segments.get(0).startDate()).isEqualTo(LocalDateTime.parse("2020-06-14T00:00:00"));
+        assertThat(segments.get(0).endDate()).isEqualTo(LocalDateTime.parse("2020-06-14T14:59:59"));
+        assertThat(segments.get(1).endDate()).isEqualTo(LocalDateTime.parse("2020-06-14T18:30:00"));
+        assertThat(segments.get(2).startDate()).isEqualTo(LocalDateTime.parse("2020-06-14T18:30:01"));
+        for (int i = 1; i < segments.size(); i++) {
+            assertThat(segments.get(i).startDate()).isAfter(segments.get(i - 1).endDate());
+        }
+    }
+
+    @Test
+    @DisplayName("✔️ withGroups solo recalcula los grupos indicados")
+    void replacesOnlyChangedGroups() {
+        Price other = price(5L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 9L, 0, "10.00");
+        other.setProductId(1000L);
+        PriceIntervalIndex withOther = index.withGroups(Map.of(new PriceKey(1L, 1000L), List.of(other)));
+
+        assertThat(withOther.groupCount()).isEqualTo(2);
+        assertThat(withOther.timeline(35455L, 1L)).isSameAs(index.timeline(35455L, 1L));
+        assertThat(index.find(1000L, 1L, LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+
+        PriceIntervalIndex removed = withOther.withGroups(Map.of(new PriceKey(1L, 1000L), List.of()));
+        assertThat(removed.groupCount()).isEqualTo(1);
+        assertThat(removed.find(1000L, 1L, LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+        assertThat(withOther.find(1000L, 1L, LocalDateTime.parse("2020-06-14T10:00:00"))).isPresent();
+
+        assertThat(index.version()).isEqualTo(1);
+        assertThat(withOther.version()).isEqualTo(2);
+        assertThat(removed.version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("✔️ Lotes sucesivos de withGroups coinciden con reconstruir el índice entero")
+    void incrementalBatchesMatchFullRebuild() {
+        Random random = new Random(7);
+        Map<PriceKey, List<Price>> model = new HashMap<>();
+        PriceIntervalIndex incremental = PriceIntervalIndex.empty();
+        long id = 0;
+        for (int batch = 0; batch < 200; batch++) {
+            Map<PriceKey, List<Price>> groups = new HashMap<>();
+            for (int i = 0; i < 50; i++) {
+                PriceKey key = new PriceKey(1L + random.nextInt(3), 1L + random.nextInt(2000));
+                List<Price> rows = new ArrayList<>();
+                if (random.nextInt(4) > 0) {
+                    Price row = price(++id, "2020-01-01T00:00:00", "2020-12-31T23:59:59", id, 0, "10.00");
+                    row.setBrandId(key.brandId());
+                    row.setProductId(key.productId());
+                    rows.add(row);
+                }
+                groups.put(key, rows);
+            }
+            PriceIntervalIndex previous = incremental;
+            incremental = incremental.withGroups(groups);
+            assertThat(incremental.version()).isEqualTo(previous.version() + 1);
+            groups.forEach((key, rows) -> {
+                if (rows.isEmpty()) {
+                    model.remove(key);
+                } else {
+                    model.put(key, rows);
+                }
+            });
+        }
+
+        PriceIntervalIndex rebuilt = PriceIntervalIndex.build(1, model.values().stream().flatMap(List::stream).toList());
+        assertThat(incremental.groupCount()).isEqualTo(model.size()).isEqualTo(rebuilt.groupCount());
+        assertThat(incremental.rowCount()).isEqualTo(rebuilt.rowCount());
+        assertThat(incremental.segmentCount()).isEqualTo(rebuilt.segmentCount());
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        for (long brand = 1; brand <= 3; brand++) {
+            for (long product = 1; product <= 2000; product++) {
+                List<Price> rows = model.get(new PriceKey(brand, product));
+                assertThat(incremental.find(product, brand, date).map(Price::getId))
+                        .isEqualTo(rows == null ? Optional.empty() : Optional.of(rows.get(0).getId()));
+            }
+            List<Long> exported = new ArrayList<>();
+            incremental.forEachApplicable(brand, date, price -> exported.add(price.getProductId()));
+            List<Long> expected = new ArrayList<>();
+            rebuilt.forEachApplicable(brand, date, price -> expected.add(price.getProductId()));
+            assertThat(exported).isSorted().isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("✔️ findCompact devuelve la tarifa compacta equivalente")
+    void findsCompactPrice() {
+        long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T16:00:00"));
+        CompactPrice compact = index.findCompact(35455L, 1L, epochSecond);
+
+        assertThat(compact.priceList()).isEqualTo(2L);
+        assertThat(compact.priceUnits()).isEqualTo(2545L);
+        assertThat(compact.price()).isEqualByComparingTo("25.45");
+        assertThat(compact.startDate()).isEqualTo(LocalDateTime.parse("2020-06-14T15:00:00"));
+        assertThat(compact.endDate()).isEqualTo(LocalDateTime.parse("2020-06-14T18:30:00"));
+        assertThat(compact.currency()).isEqualTo("EUR");
+        assertThat(index.findCompact(99999L, 1L, epochSecond)).isNull();
+        assertThat(index.findCompact(35455L, 1L, epochSecond - 365L * 24 * 3600)).isNull();
+    }
+
+    @Test
+    @DisplayName("✔️ findCompact no reserva memoria")
+    void findCompactDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T16:00:00"));
+        long found = 0;
+        for (int i = 0; i < 10_000; i++) {
+            found += index.findCompact(35455L, 1L, epochSecond + i).priceList();
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            found += index.findCompact(35455L, 1L, epochSecond + i).priceList();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(found).isPositive();
+        // Margen para la propia medición; 100.000 búsquedas con reservas superarían varios MB
+        assertThat(allocated).isLessThan(16 * 1024);
+    }
+}
@@ -0,0 +1,123 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.CompactPriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.service.PriceService;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Sin caché, una consulta sola usa la consulta puntual de JpaPriceRepository y las consultas
+ * concurrentes del mismo producto y marca comparten una sola lectura de la línea temporal. El
+ * tramo que pide GET /api/prices para fijar Cache-Control también sale de la consulta puntual.
+ */
+@SpringBootTest(properties = {"pricing.cache.enabled=false", "pricing.warmup.enabled=false"})
+class PriceLookupCoalescingIntegrationTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired private PriceService priceService;
+    @Autowired private MeterRegistry meterRegistry;
+    @SpyBean private JpaPriceRepository repository;
+
+    @Test
+    void concurrentLookupsShareOneTimelineLoad() throws Exception {
+        double leaders = coalescing("leader");
+        double followers = coalescing("follower");
+        CountDownLatch pointQuerying = new CountDownLatch(1);
+        CountDownLatch timelineLoading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pointQuerying.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(repository).findApplicableCompactPrice(35455L, 1L, PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T10:00:00")));
+        doAnswer(invocation -> {
+            timelineLoading.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(repository).findTimeline(35455L, 1L);
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            // La primera va sola a la consulta puntual; la segunda ve la concurrencia y carga la
+            // línea temporal, y el resto resuelve sus fechas (de tramos distintos) sobre esa carga
+            List<Future<CompactPrice>> prices = new ArrayList<>();
+            prices.add(callers.submit(() -> lookup("2020-06-14T10:00:00")));
+            pointQuerying.await();
+            prices.add(callers.submit(() -> lookup("2020-06-14T16:00:00")));
+            timelineLoading.await();
+            for (int i = 2; i < CALLERS; i++) {
+                String date = i % 2 == 0 ? "2020-06-14T10:00:00" : "2020-06-14T16:00:00";
+                prices.add(callers.submit(() -> lookup(date)));
+            }
+            while (coalescing("follower") < followers + CALLERS - 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (int i = 0; i < CALLERS; i++) {
+                assertThat(prices.get(i).get().priceList()).isEqualTo(i % 2 == 0 ? 1L : 2L);
+            }
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+
+        verify(repository, times(1)).findTimeline(35455L, 1L);
+        assertThat(coalescing("leader")).isEqualTo(leaders + 1);
+        assertThat(coalescing("follower")).isEqualTo(followers + CALLERS - 2);
+    }
+
+    @Test
+    void lookupWithoutConcurrencyUsesThePointQuery() {
+        double leaders = coalescing("leader");
+        long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T10:00:00"));
+
+        lookup("2020-06-14T10:00:00");
+        lookup("2020-06-14T10:00:00");
+
+        verify(repository, times(2)).findApplicableCompactPrice(35455L, 1L, epochSecond);
+        verify(repository, never()).findTimeline(35455L, 1L);
+        assertThat(coalescing("leader")).isEqualTo(leaders);
+    }
+
+    @Test
+    void segmentLookupWithoutConcurrencyUsesThePointQuery() {
+        long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T16:00:00"));
+
+        CompactPriceSegment segment = priceService.getApplicableSegment(35455L, 1L, epochSecond);
+
+        assertThat(segment.price().priceList()).isEqualTo(2L);
+        assertThat(segment.endEpochSecond()).isEqualTo(PriceTimeline.toEpochSecond(LocalDateTime.parse("2020-06-14T18:30:00")));
+        verify(repository, times(1)).findApplicableSegment(35455L, 1L, epochSecond);
+        verify(repository, never()).findTimeline(35455L, 1L);
+    }
+
+    private CompactPrice lookup(String date) {
+        return priceService.getApplicableCompactPrice(35455L, 1L, PriceTimeline.toEpochSecond(LocalDateTime.parse(date)));
+    }
+
+    private double coalescing(String role) {
+        return meterRegistry.get("pricing.lookup.coalescing").tag("role", role).counter().count();
+    }
+}
@@ -0,0 +1,74 @@
+package com.inditex.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que las consultas a /api/prices quedan medidas por capa y por resultado,
+ * y que los histogramas de latencia se publican en /actuator/prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PriceMetricsIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsLatencyPerLayerAndOutcome() throws Exception {
+        double found = count("found");
+        double notFound = count("not_found");
+        long controllerCalls = latencyCount("controller");
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2019-01-01T00:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isNotFound());
+
+        assertThat(count("found")).isEqualTo(found + 1);
+        assertThat(count("not_found")).isEqualTo(notFound + 1);
+        assertThat(latencyCount("controller")).isEqualTo(controllerCalls + 2);
+        assertThat(latencyCount("usecase")).isPositive();
+        assertThat(latencyCount("repository")).isPositive();
+    }
+
+    @Test
+    void exposesLatencyHistogramOnPrometheusEndpoint() throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T10:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("pricing_lookup_latency_seconds_bucket{layer=\"controller\"")))
+                .andExpect(content().string(containsString("pricing_lookup_result_total{outcome=\"found\"")));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("pricing.lookup.result").tag("outcome", outcome).counter().count();
+    }
+
+    private long latencyCount(String layer) {
+        return meterRegistry.get("pricing.lookup.latency").tag("layer", layer).timer().count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.CompactPriceSegment;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba con EXPLAIN que la consulta de precio aplicable y la de tramo usan el índice compuesto,
+ * y que el fin de tramo de la consulta puntual coincide con el de la línea temporal.
+ * Falla si un cambio en la consulta o en schema.sql la devuelve a un recorrido de tabla.
+ * Comprueba también que los cursores de exportación se leen sin autocommit, que es lo que
+ * necesitan drivers como el de PostgreSQL para respetar el tamaño de fetch.
+ */
+@SpringBootTest
+class PriceQueryPlanTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JpaPriceRepository repository;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void lookupUsesCompositeIndex() {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2020, 6, 14, 16, 0));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN " + JpaPriceRepository.LOOKUP_SQL, String.class, 1L, 35455L, date, date);
+
+        assertThat(plan)
+                .contains("IDX_PRICES_LOOKUP")
+                .contains("BRAND_ID = ")
+                .contains("PRODUCT_ID = ")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void segmentQueryUsesCompositeIndex() {
+        Timestamp date = Timestamp.valueOf(LocalDateTime.of(2020, 6, 14, 16, 0));
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN " + JpaPriceRepository.SEGMENT_SQL, String.class, date, 1L, 35455L, date, date);
+
+        assertThat(plan)
+                .contains("IDX_PRICES_LOOKUP")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void segmentQueryMatchesTimeline() {
+        PriceTimeline timeline = repository.findTimeline(35455L, 1L);
+        for (String date : List.of("2020-06-13T23:59:59", "2020-06-14T00:00:00", "2020-06-14T10:00:00",
+                "2020-06-14T15:00:00", "2020-06-14T18:30:00", "2020-06-14T21:00:00", "2020-06-15T10:00:00",
+                "2020-06-15T16:00:00", "2020-12-31T23:59:59", "2021-01-01T00:00:00")) {
+            long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse(date));
+
+            CompactPriceSegment segment = repository.findApplicableSegment(35455L, 1L, epochSecond);
+
+            assertThat(segment).as(date).isEqualTo(timeline.findSegment(epochSecond));
+        }
+    }
+
+    @Test
+    void exportCursorsRunInReadOnlyTransaction() {
+        List<Boolean> streaming = new ArrayList<>();
+        repository.forEachApplicablePrice(1L, LocalDateTime.of(2020, 6, 14, 16, 0), price -> streaming.add(readOnlyWithoutAutoCommit()));
+        repository.forEachPriceByGroup(price -> streaming.add(readOnlyWithoutAutoCommit()));
+
+        assertThat(streaming).isNotEmpty().containsOnly(true);
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+    }
+
+    private boolean readOnlyWithoutAutoCommit() {
+        try {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && !DataSourceUtils.getConnection(dataSource).getAutoCommit();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
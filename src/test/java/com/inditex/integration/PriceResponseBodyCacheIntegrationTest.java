@@ -0,0 +1,178 @@
+package com.inditex.integration;
+
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.infrastructure.controller.codec.PriceBinaryCodec;
+import com.inditex.infrastructure.controller.dto.PriceResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Respuestas de GET /api/prices servidas desde la caché de cuerpos ya serializados, con GET
+ * condicional por ETag y Cache-Control hasta el fin del tramo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PriceResponseBodyCacheIntegrationTest {
+
+    private static final long PRODUCT_ID = 99003L;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = ?", PRODUCT_ID);
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, PRODUCT_ID))));
+    }
+
+    @Test
+    void sharesEncodedBodyWithinSegmentAndHonoursEtag() throws Exception {
+        double hits = hits();
+        MvcResult first = price("2020-06-14T15:00:00", "35455");
+        MvcResult second = price("2020-06-14T18:00:00", "35455");
+
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"2-");
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+        assertThat(hits()).isGreaterThan(hits);
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        assertThat(price("2020-06-14T10:00:00", "35455").getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void changedRowGetsNewBodyAndEtag() throws Exception {
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 7, ?, 0, 12.00, 'EUR')", PRODUCT_ID);
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, PRODUCT_ID))));
+        String etag = price("2020-06-14T10:00:00", String.valueOf(PRODUCT_ID)).getResponse().getHeader(HttpHeaders.ETAG);
+
+        jdbcTemplate.update("UPDATE PRICES SET PRICE = 9.99 WHERE PRODUCT_ID = ?", PRODUCT_ID);
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, PRODUCT_ID))));
+
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T10:00:00")
+                        .param("productId", String.valueOf(PRODUCT_ID))
+                        .param("brandId", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(9.99))
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void cacheControlLastsUntilSegmentEnd() throws Exception {
+        // Tramo ya terminado: solo puede cambiar si cambian las tarifas, se aplica el tope
+        assertThat(price("2020-06-14T10:00:00", "35455").getResponse().getHeader(HttpHeaders.CACHE_CONTROL))
+                .isEqualTo("max-age=60, public");
+
+        // Tramo vigente que termina dentro de 30 s
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', ?, 7, ?, 0, 12.00, 'EUR')", now.plusSeconds(30), PRODUCT_ID);
+        eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, PRODUCT_ID))));
+
+        String cacheControl = price(now.toString(), String.valueOf(PRODUCT_ID)).getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        long maxAge = Long.parseLong(cacheControl.replaceAll("max-age=(\\d+).*", "$1"));
+        assertThat(maxAge).isBetween(1L, 31L);
+    }
+
+    @Test
+    void servesCompactBinaryWhenAccepted() throws Exception {
+        MvcResult json = price("2020-06-14T16:00:00", "35455");
+        MvcResult binary = mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header(HttpHeaders.ACCEPT, PriceBinaryCodec.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PriceBinaryCodec.MEDIA_TYPE))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        byte[] body = binary.getResponse().getContentAsByteArray();
+        PriceResponseDto price = PriceBinaryCodec.decode(body);
+        assertThat(price.productId()).isEqualTo(35455L);
+        assertThat(price.brandId()).isEqualTo(1L);
+        assertThat(price.priceList()).isEqualTo(2L);
+        assertThat(price.startDate()).isEqualTo(LocalDateTime.parse("2020-06-14T15:00:00"));
+        assertThat(price.endDate()).isEqualTo(LocalDateTime.parse("2020-06-14T18:30:00"));
+        assertThat(price.price()).isEqualByComparingTo("25.45");
+        assertThat(price.currency()).isEqualTo("EUR");
+        assertThat(body.length).isLessThan(json.getResponse().getContentAsByteArray().length / 4);
+        assertThat(binary.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(json.getResponse().getHeader(HttpHeaders.ETAG));
+        assertThatThrownBy(() -> PriceBinaryCodec.decode(Arrays.copyOf(body, body.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "application/vnd.pricing.price+binary                          | true",
+            "application/vnd.pricing.price+binary, */*                     | true",
+            "application/json;q=0.5, application/vnd.pricing.price+binary  | true",
+            "application/vnd.pricing.price+binary;q=0, application/json    | false",
+            "application/vnd.pricing.price+binary;q=0.5, application/json  | false",
+            "application/vnd.pricing.price+binary;q=0.5, */*;q=0.9         | false",
+            "application/vnd.pricing.price+binary;q=x                      | false",
+            "*/*                                                           | false"
+    })
+    void negotiatesBinaryWithAcceptQualityValues(String accept, boolean binary) throws Exception {
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(binary ? PriceBinaryCodec.MEDIA_TYPE : MediaType.APPLICATION_JSON));
+    }
+
+    private MvcResult price(String date, String productId) throws Exception {
+        return mockMvc.perform(get("/api/prices")
+                        .param("date", date)
+                        .param("productId", productId)
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "price-responses").tag("result", "hit").functionCounter().count();
+    }
+}
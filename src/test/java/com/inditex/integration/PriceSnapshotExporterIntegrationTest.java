@@ -0,0 +1,67 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.Price;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import com.inditex.infrastructure.repository.snapshot.MappedPriceRepository;
+import com.inditex.infrastructure.repository.snapshot.PriceSnapshotExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Con pricing.snapshot.write-on-startup=true el arranque vuelca la tabla PRICES a un snapshot
+ * que MappedPriceRepository puede servir. Si la tabla falla a mitad de lectura, el snapshot
+ * anterior se conserva.
+ */
+@SpringBootTest(properties = {
+        "pricing.snapshot.write-on-startup=true",
+        "pricing.snapshot.path=target/test-snapshots/exporter.snapshot"
+})
+class PriceSnapshotExporterIntegrationTest {
+
+    @Test
+    void writesSnapshotFromPricesTable() {
+        Path path = Path.of("target/test-snapshots/exporter.snapshot");
+        assertThat(Files.exists(path)).isTrue();
+
+        MappedPriceRepository repository = new MappedPriceRepository(path);
+        assertThat(repository.findApplicablePrice(35455L, 1L, LocalDateTime.parse("2020-06-14T16:00:00")))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(2L));
+        assertThat(repository.findApplicablePrice(35455L, 1L, LocalDateTime.parse("2020-06-16T21:00:00")))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(4L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsPreviousSnapshotWhenSourceFailsMidStream() throws Exception {
+        Path path = Path.of("target/test-snapshots/exporter.snapshot");
+        byte[] previous = Files.readAllBytes(path);
+
+        JpaPriceRepository failing = mock(JpaPriceRepository.class);
+        doAnswer(invocation -> {
+            Consumer<Price> consumer = invocation.getArgument(0);
+            PriceIntervalIndexTest.samplePrices().stream().limit(2).forEach(consumer);
+            throw new DataAccessResourceFailureException("conexión perdida");
+        }).when(failing).forEachPriceByGroup(any());
+
+        assertThatThrownBy(() -> new PriceSnapshotExporter(failing, path).export())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(Files.readAllBytes(path)).isEqualTo(previous);
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            assertThat(files.map(Path::toString)).noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.inditex.integration;
+
+import com.inditex.domain.model.CompactPrice;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.infrastructure.repository.memory.PriceIntervalIndex;
+import com.inditex.infrastructure.repository.snapshot.MappedPriceRepository;
+import com.inditex.infrastructure.repository.snapshot.PriceSnapshotWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests del snapshot binario mapeado en memoria: se escribe un fichero y se comparan sus
+ * respuestas con las del índice en memoria.
+ */
+class PriceSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private MappedPriceRepository repository(List<Price> prices) {
+        Path path = dir.resolve("prices.snapshot");
+        PriceSnapshotWriter.write(path, prices);
+        return new MappedPriceRepository(path);
+    }
+
+    @Test
+    @DisplayName("✔️ Resuelve los cinco escenarios del enunciado desde el fichero")
+    void resolvesSampleScenarios() {
+        MappedPriceRepository repository = repository(PriceIntervalIndexTest.samplePrices());
+
+        assertThat(priceList(repository, "2020-06-14T10:00:00")).isEqualTo(1L);
+        assertThat(priceList(repository, "2020-06-14T16:00:00")).isEqualTo(2L);
+        assertThat(priceList(repository, "2020-06-14T21:00:00")).isEqualTo(1L);
+        assertThat(priceList(repository, "2020-06-15T10:00:00")).isEqualTo(3L);
+        assertThat(priceList(repository, "2020-06-16T21:00:00")).isEqualTo(4L);
+        assertThat(priceList(repository, "2019-01-01T00:00:00")).isNull();
+        assertThat(repository.findApplicablePrice(99999L, 1L, LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+
+        Price price = repository.findApplicablePrice(35455L, 1L, LocalDateTime.parse("2020-06-14T16:00:00")).orElseThrow();
+        assertThat(price.getId()).isEqualTo(2L);
+        assertThat(price.getPrice()).isEqualByComparingTo("25.45");
+        assertThat(price.getCurr()).isEqualTo("EUR");
+        assertThat(price.getStartDate()).isEqualTo(LocalDateTime.parse("2020-06-14T15:00:00"));
+    }
+
+    @Test
+    @DisplayName("✔️ Mismas respuestas que el índice en memoria con datos aleatorios")
+    void matchesInMemoryIndex() {
+        List<Price> prices = randomPrices(new Random(11), 400);
+        MappedPriceRepository repository = repository(prices);
+        PriceIntervalIndex index = PriceIntervalIndex.build(1, prices);
+
+        Random random = new Random(17);
+        for (int i = 0; i < 5_000; i++) {
+            long brandId = 1 + random.nextInt(3);
+            long productId = 1 + random.nextInt(60);
+            LocalDateTime date = LocalDateTime.of(2020, 1, 1, 0, 0).plusHours(random.nextInt(24 * 60));
+            long epochSecond = PriceTimeline.toEpochSecond(date);
+
+            assertThat(repository.findApplicablePrice(productId, brandId, date).map(Price::getId))
+                    .isEqualTo(index.find(productId, brandId, date).map(Price::getId));
+            assertThat(repository.findApplicableCompactPrice(productId, brandId, epochSecond))
+                    .isEqualTo(index.findCompact(productId, brandId, epochSecond));
+        }
+
+        assertThat(repository.findTimeline(5L, 2L).segments().stream().map(s -> s.price().getId()).toList())
+                .isEqualTo(index.timeline(5L, 2L).segments().stream().map(s -> s.price().getId()).toList());
+        assertThat(repository.findTimeline(999L, 2L).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("✔️ La exportación por marca recorre sus productos en orden")
+    void forEachApplicablePriceByBrand() {
+        List<Price> prices = randomPrices(new Random(23), 300);
+        MappedPriceRepository repository = repository(prices);
+        PriceIntervalIndex index = PriceIntervalIndex.build(1, prices);
+        LocalDateTime date = LocalDateTime.of(2020, 1, 20, 12, 0);
+
+        List<Price> fromSnapshot = new ArrayList<>();
+        repository.forEachApplicablePrice(2L, date, fromSnapshot::add);
+        List<Price> fromIndex = new ArrayList<>();
+        index.forEachApplicable(2L, date, fromIndex::add);
+
+        assertThat(fromSnapshot).isNotEmpty();
+        assertThat(fromSnapshot).allMatch(price -> price.getBrandId() == 2L);
+        assertThat(fromSnapshot.stream().map(Price::getProductId).toList()).isSorted();
+        assertThat(fromSnapshot.stream().map(Price::getId).sorted().toList())
+                .isEqualTo(fromIndex.stream().map(Price::getId).sorted().toList());
+
+        List<Optional<Price>> batch = repository.findApplicablePrices(List.of());
+        assertThat(batch).isEmpty();
+    }
+
+    @Test
+    @DisplayName("❌ Rechaza tarifas desordenadas y ficheros que no son snapshots")
+    void rejectsInvalidInput() throws Exception {
+        Price first = PriceIntervalIndexTest.samplePrices().get(0);
+        Price earlier = randomPrices(new Random(1), 1).get(0);
+        earlier.setBrandId(1L);
+        earlier.setProductId(1L);
+        try (PriceSnapshotWriter writer = PriceSnapshotWriter.open(dir.resolve("unordered.snapshot"))) {
+            writer.append(first);
+            assertThatThrownBy(() -> writer.append(earlier)).isInstanceOf(IllegalStateException.class);
+        }
+
+        Path garbage = Files.writeString(dir.resolve("garbage.snapshot"), "esto no es un snapshot de precios, no señor");
+        assertThatThrownBy(() -> new MappedPriceRepository(garbage)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Long priceList(MappedPriceRepository repository, String date) {
+        return repository.findApplicablePrice(35455L, 1L, LocalDateTime.parse(date)).map(Price::getPriceList).orElse(null);
+    }
+
+    /**
+     * Tarifas solapadas de 3 marcas y 60 productos a lo largo de enero y febrero de 2020.
+     */
+    static List<Price> randomPrices(Random random, int count) {
+        List<Price> prices = new ArrayList<>(count);
+        LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = origin.plusHours(random.nextInt(24 * 50));
+            prices.add(Price.builder()
+                    .id((long) i + 1)
+                    .brandId(1L + random.nextInt(3))
+                    .productId(1L + random.nextInt(60))
+                    .startDate(start)
+                    .endDate(start.plusHours(1 + random.nextInt(24 * 20)).minusSeconds(1))
+                    .priceList((long) i + 1)
+                    .priority(random.nextInt(3))
+                    .price(BigDecimal.valueOf(100 + random.nextInt(9_900), 2))
+                    .curr(random.nextBoolean() ? "EUR" : "USD")
+                    .build());
+        }
+        return prices;
+    }
+}
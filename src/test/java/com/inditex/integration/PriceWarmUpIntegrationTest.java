@@ -0,0 +1,64 @@
+package com.inditex.integration;
+
+import com.inditex.infrastructure.warmup.PriceWarmUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * El calentamiento se ejecuta al arrancar, con las claves de un fichero, antes de que el nodo
+ * se declare listo, y sin dejar rastro en las métricas de consultas.
+ */
+@SpringBootTest(properties = {
+        "pricing.warmup.lookups=200",
+        "pricing.warmup.repository-lookups=20",
+        "pricing.warmup.sample=50"})
+class PriceWarmUpIntegrationTest {
+
+    @Autowired private PriceWarmUp warmUp;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ApplicationAvailability availability;
+
+    @DynamicPropertySource
+    static void keysFile(DynamicPropertyRegistry registry) throws IOException {
+        Path keys = Files.createTempFile("warmup-keys", ".csv");
+        keys.toFile().deleteOnExit();
+        Files.writeString(keys, """
+                # brandId,productId
+                1,35455
+                1,35455
+                2,35455
+                """);
+        registry.add("pricing.warmup.keys-file", keys::toString);
+    }
+
+    @Test
+    void warmsUpBeforeReportingReady() {
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(warmUp.durationNanos()).isPositive();
+        assertThat(meterRegistry.get("pricing.warmup.duration").timeGauge().value(TimeUnit.NANOSECONDS))
+                .isCloseTo(warmUp.durationNanos(), within(1.0));
+        assertThat(meterRegistry.get("pricing.warmup.latency").timer().count()).isEqualTo(50);
+    }
+
+    @Test
+    void keepsWarmUpTrafficOutOfLookupMetrics() {
+        assertThat(meterRegistry.get("pricing.lookup.latency").timers())
+                .allSatisfy(timer -> assertThat(timer.count()).isZero());
+        assertThat(meterRegistry.get("pricing.lookup.result").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+}
@@ -0,0 +1,253 @@
+package com.inditex.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.App;
+import com.inditex.application.metrics.PriceMetrics;
+import com.inditex.application.service.PriceServiceImpl;
+import com.inditex.domain.event.PricesChangedEvent;
+import com.inditex.domain.event.PricesReloadedEvent;
+import com.inditex.domain.model.CompactPriceSegment;
+import com.inditex.domain.model.Price;
+import com.inditex.domain.model.PriceKey;
+import com.inditex.domain.model.PriceQuery;
+import com.inditex.domain.model.PriceTimeline;
+import com.inditex.domain.repository.PriceRepository;
+import com.inditex.domain.repository.PriceShardRouter;
+import com.inditex.domain.service.PriceService;
+import com.inditex.infrastructure.cache.CaffeinePriceCache;
+import com.inditex.infrastructure.repository.JpaPriceRepository;
+import com.inditex.infrastructure.repository.shard.ShardedPriceStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Almacén particionado en 4 shards por marca: el shard 1 (marca 1) es local y el shard 3
+ * (marca 3) lo sirve otro nodo de pricing-api, arrancado aquí con su propia base de datos.
+ * Las tarifas remotas son ganadoras ya resueltas; con una caché delante, la línea temporal remota
+ * da las mismas respuestas que la local.
+ */
+@SpringBootTest(properties = {
+        "pricing.repository.type=sharded",
+        "pricing.sharding.shards=4",
+        "pricing.cache.enabled=false"
+})
+@AutoConfigureMockMvc
+class ShardedPriceStoreIntegrationTest {
+
+    private static ConfigurableApplicationContext remoteNode;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private PriceShardRouter router;
+    @Autowired private PriceService priceService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private JpaPriceRepository source;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private PriceMetrics metrics;
+
+    @DynamicPropertySource
+    static void remoteShard(DynamicPropertyRegistry registry) {
+        remoteNode = new SpringApplicationBuilder(App.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:remote-shard",
+                "--spring.datasource.hikari.minimum-idle=1",
+                "--spring.jmx.enabled=false",
+                "--pricing.repository.type=memory");
+        // Mismas tarifas que la marca 1 pero como marca 3
+        remoteNode.getBean(JdbcTemplate.class).update("UPDATE PRICES SET BRAND_ID = 3");
+        remoteNode.publishEvent(new PricesReloadedEvent(0));
+
+        int port = ((WebServerApplicationContext) remoteNode).getWebServer().getPort();
+        registry.add("pricing.sharding.nodes", () -> "3=http://localhost:" + port);
+    }
+
+    @AfterAll
+    static void stopRemoteNode() {
+        remoteNode.close();
+    }
+
+    @Test
+    void partitionsByBrand() {
+        assertThat(router).isInstanceOf(ShardedPriceStore.class);
+        assertThat(((ShardedPriceStore) router).shardCount()).isEqualTo(4);
+        assertThat(router.shardFor(1, 35455)).isSameAs(router.shardFor(1, 1)).isNotSameAs(router.shardFor(2, 35455));
+        assertThat(router.shardsOf(1)).containsExactly(router.shardFor(1, 35455));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"http://pricing-b:8080", "uno=http://pricing-b:8080", "4=http://pricing-b:8080"})
+    void rejectsMalformedNodeWithDescriptiveError(String node) {
+        assertThatThrownBy(() -> new ShardedPriceStore(source, objectMapper, 4, false, List.of(node)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .isNotInstanceOf(NumberFormatException.class)
+                .hasMessageContaining("pricing.sharding.nodes")
+                .hasMessageContaining(node);
+    }
+
+    @Test
+    void resolvesLocalAndRemoteShards() throws Exception {
+        for (String brandId : List.of("1", "3")) {
+            mockMvc.perform(get("/api/prices")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", brandId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.brandId", is(Integer.parseInt(brandId))))
+                    .andExpect(jsonPath("$.priceList", is(2)))
+                    .andExpect(jsonPath("$.price", is(25.45)));
+        }
+        mockMvc.perform(get("/api/prices")
+                        .param("date", "2020-06-13T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "3"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void remoteTimelineMatchesLocalOne() {
+        assertThat(priceService.getTimeline(35455L, 3L).segments())
+                .extracting(segment -> segment.startDate() + " " + segment.endDate() + " " + segment.price().getPriceList())
+                .containsExactlyElementsOf(priceService.getTimeline(35455L, 1L).segments().stream()
+                        .map(segment -> segment.startDate() + " " + segment.endDate() + " " + segment.price().getPriceList())
+                        .toList());
+    }
+
+    @Test
+    void remotePricesAreFinalWinners() {
+        Optional<Price> remote = router.shardFor(3L, 35455L).findApplicablePrice(35455L, 3L, LocalDateTime.parse("2020-06-14T16:00:00"));
+
+        assertThat(remote).get().extracting(Price::getPriceList, Price::getPriority, Price::getId).containsExactly(2L, null, null);
+        assertThat(priceService.getTimeline(35455L, 3L).segments())
+                .extracting(segment -> segment.price().getPriority())
+                .containsExactlyElementsOf(priceService.getTimeline(35455L, 1L).segments().stream()
+                        .map(segment -> segment.price().getPriority())
+                        .toList());
+    }
+
+    @Test
+    void remoteLookupsThroughTheCacheMatchLocalOnes() {
+        PriceService cached = new PriceServiceImpl(source, Optional.of(router),
+                Optional.of(new CaffeinePriceCache(100, Duration.ofMinutes(1))), metrics, false);
+        for (String date : List.of("2020-06-14T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00",
+                "2020-06-15T10:00:00", "2020-06-16T21:00:00")) {
+            long epochSecond = PriceTimeline.toEpochSecond(LocalDateTime.parse(date));
+
+            CompactPriceSegment remote = cached.getApplicableSegment(35455L, 3L, epochSecond);
+            CompactPriceSegment local = cached.getApplicableSegment(35455L, 1L, epochSecond);
+
+            assertThat(remote.endEpochSecond()).as(date).isEqualTo(local.endEpochSecond());
+            assertThat(remote.price()).as(date).usingRecursiveComparison()
+                    .ignoringFields("id", "brandId")
+                    .isEqualTo(local.price());
+            assertThat(cached.getApplicablePrice(35455L, 3L, LocalDateTime.parse(date)).getPriority()).as(date)
+                    .isEqualTo(cached.getApplicablePrice(35455L, 1L, LocalDateTime.parse(date)).getPriority());
+        }
+    }
+
+    @Test
+    void splitsBatchByShardAndKeepsOrder() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T16:00:00");
+        List<Optional<Price>> prices = priceService.getApplicablePrices(List.of(
+                new PriceQuery(35455L, 3L, date),
+                new PriceQuery(35455L, 1L, date),
+                new PriceQuery(35455L, 2L, date),
+                new PriceQuery(35455L, 3L, date.minusDays(1))));
+
+        assertThat(prices).extracting(price -> price.map(Price::getBrandId).orElse(null))
+                .containsExactly(3L, 1L, null, null);
+    }
+
+    @Test
+    void exportsFromOwningShard() {
+        List<Price> remote = new ArrayList<>();
+        priceService.forEachApplicablePrice(3L, LocalDateTime.parse("2020-06-14T16:00:00"), remote::add);
+
+        assertThat(remote).extracting(Price::getProductId, Price::getPriceList).containsExactly(
+                tuple(35455L, 2L));
+    }
+
+    @Test
+    void mergesShardsOfABrandSplitByProductInProductOrder() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T16:00:00");
+        for (long productId = 99101; productId <= 99108; productId++) {
+            jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                    + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 7, ?, 0, 12.00, 'EUR')", productId);
+        }
+        try {
+            ShardedPriceStore byProduct = new ShardedPriceStore(source, objectMapper, 4, true, List.of());
+            byProduct.load();
+
+            List<Price> merged = new ArrayList<>();
+            byProduct.forEachApplicablePrice(1L, date, merged::add);
+            List<Price> expected = new ArrayList<>();
+            source.forEachApplicablePrice(1L, date, expected::add);
+
+            assertThat(merged).extracting(Price::getProductId)
+                    .isSorted()
+                    .containsExactlyElementsOf(expected.stream().map(Price::getProductId).toList());
+            assertThat(merged.stream().map(price -> byProduct.shardFor(1L, price.getProductId())).distinct().count())
+                    .isGreaterThan(1);
+
+            // La marca 3 solo está en el nodo remoto: el cursor remoto se mezcla con los locales vacíos
+            int remotePort = ((WebServerApplicationContext) remoteNode).getWebServer().getPort();
+            ShardedPriceStore withRemote = new ShardedPriceStore(source, objectMapper, 4, true,
+                    List.of("3=http://localhost:" + remotePort));
+            withRemote.load();
+            List<Price> remote = new ArrayList<>();
+            withRemote.forEachApplicablePrice(3L, date, remote::add);
+            assertThat(remote).extracting(Price::getProductId).containsExactly(35455L);
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID BETWEEN 99101 AND 99108");
+        }
+    }
+
+    @Test
+    void changeRefreshesOnlyItsShard() {
+        PriceRepository brandOne = router.shardFor(1, 99001);
+        PriceRepository brandTwo = router.shardFor(2, 99001);
+        long brandOneVersion = brandOne.snapshotVersion();
+        long brandTwoVersion = brandTwo.snapshotVersion();
+
+        jdbcTemplate.update("INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR) "
+                + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 7, 99001, 0, 12.00, 'EUR')");
+        try {
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 99001L))));
+
+            assertThat(brandOne.snapshotVersion()).isEqualTo(brandOneVersion + 1);
+            assertThat(brandTwo.snapshotVersion()).isEqualTo(brandTwoVersion);
+            assertThat(priceService.getApplicablePrice(99001L, 1L, LocalDateTime.parse("2020-06-14T10:00:00")).getPriceList())
+                    .isEqualTo(7L);
+        } finally {
+            jdbcTemplate.update("DELETE FROM PRICES WHERE PRODUCT_ID = 99001");
+            eventPublisher.publishEvent(new PricesChangedEvent(Set.of(new PriceKey(1L, 99001L))));
+        }
+    }
+}